@@ -0,0 +1,191 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Teste de carga da API: "clients" clientes simultâneos repetem GET /products, GET /products/{id},
+// GET /vendedores e GET /products/search durante "duration" segundos e o resultado mostra vazão e
+// latência (p50/p99/p99.9). Roda como programa de arquivo único, sem compilar o projeto:
+//
+//   java scripts/LoadTest.java --base http://localhost:8080 --clients 1000 --duration 30 --label virtual
+//
+// Com --seed N, cria 10 vendedores e N produtos antes da medição (se a base estiver vazia).
+// Para comparar threads de plataforma e virtual threads, veja scripts/compare-threads.sh.
+public class LoadTest {
+
+    // Histograma de latências em faixas de 10 µs até 10 s (acima disso vai para a última faixa)
+    private static final int BUCKET_MICROS = 10;
+    private static final int BUCKETS = 1_000_000;
+
+    private static final Pattern UUID_FIELD = Pattern.compile("\"idProduct\":\"([0-9a-f-]{36})\"");
+    private static final String[] TERMS = {"cafe", "acucar", "pao", "queijo", "arroz", "leite"};
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String base = options.getOrDefault("base", "http://localhost:8080");
+        int clients = Integer.parseInt(options.getOrDefault("clients", "1000"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int seed = Integer.parseInt(options.getOrDefault("seed", "0"));
+        String label = options.getOrDefault("label", "run");
+
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        if (seed > 0) {
+            seed(http, base, seed);
+        }
+        List<String> productIds = productIds(http, base);
+
+        System.out.printf("[%s] aquecimento de %ds com %d clientes%n", label, warmup, clients);
+        run(http, base, clients, warmup, productIds);
+
+        System.out.printf("[%s] medição de %ds com %d clientes%n", label, duration, clients);
+        Result result = run(http, base, clients, duration, productIds);
+        result.print(label, duration);
+    }
+
+    // Cada cliente é uma virtual thread que repete requisições até o fim do tempo
+    private static Result run(HttpClient http, String base, int clients, int seconds, List<String> productIds) throws InterruptedException {
+        Result result = new Result();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(base + nextPath(productIds)))
+                                .timeout(Duration.ofSeconds(30))
+                                .GET()
+                                .build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            result.record(System.nanoTime() - start, response.statusCode());
+                        } catch (Exception e) {
+                            result.record(System.nanoTime() - start, 0);
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        return result;
+    }
+
+    // Mistura de leituras: listagem, item, vendedores e busca
+    private static String nextPath(List<String> productIds) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (random.nextInt(4)) {
+            case 0 -> "/products?limit=20";
+            case 1 -> productIds.isEmpty() ? "/products" : "/products/" + productIds.get(random.nextInt(productIds.size()));
+            case 2 -> "/vendedores?limit=20";
+            default -> "/products/search?q=" + TERMS[random.nextInt(TERMS.length)];
+        };
+    }
+
+    private static void seed(HttpClient http, String base, int products) throws Exception {
+        if (!productIds(http, base).isEmpty()) {
+            return;
+        }
+        List<String> vendedores = new ArrayList<>();
+        for (int v = 0; v < 10; v++) {
+            String body = "{\"nome\":\"Vendedor " + v + "\",\"email\":\"vendedor" + v + "@loja.com\"}";
+            String response = send(http, base + "/vendedores", "POST", body);
+            Matcher matcher = Pattern.compile("\"idVendedor\":\"([0-9a-f-]{36})\"").matcher(response);
+            if (matcher.find()) {
+                vendedores.add(matcher.group(1));
+            }
+        }
+        for (int start = 0; start < products; start += 1000) {
+            StringBuilder batch = new StringBuilder("[");
+            for (int i = start; i < Math.min(start + 1000, products); i++) {
+                if (i > start) {
+                    batch.append(',');
+                }
+                batch.append("{\"name\":\"").append(TERMS[i % TERMS.length]).append(" produto ").append(i)
+                        .append("\",\"value\":").append(1 + i % 500)
+                        .append(",\"vendedorId\":\"").append(vendedores.get(i % vendedores.size())).append("\"}");
+            }
+            send(http, base + "/products/batch", "POST", batch.append(']').toString());
+        }
+        System.out.printf("Base populada com %d vendedores e %d produtos%n", vendedores.size(), products);
+    }
+
+    private static List<String> productIds(HttpClient http, String base) throws Exception {
+        List<String> ids = new ArrayList<>();
+        Matcher matcher = UUID_FIELD.matcher(send(http, base + "/products?limit=500", "GET", null));
+        while (matcher.find()) {
+            ids.add(matcher.group(1));
+        }
+        return ids;
+    }
+
+    private static String send(HttpClient http, String url, String method, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url)).header("Content-Type", "application/json");
+        request.method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new java.util.HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return options;
+    }
+
+    // Contadores compartilhados pelos clientes (sem lock)
+    private static final class Result {
+
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        // status 0 = falha de conexão/timeout; 503 = recusada pelo controle de admissão
+        void record(long nanos, int status) {
+            histogram.incrementAndGet((int) Math.min(BUCKETS - 1, nanos / 1000 / BUCKET_MICROS));
+            requests.incrementAndGet();
+            if (status == 503) {
+                rejected.incrementAndGet();
+            } else if (status == 0 || status >= 400) {
+                errors.incrementAndGet();
+            }
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        // Latência (ms) abaixo da qual está a fração "quantile" das requisições
+        double percentile(double quantile) {
+            long target = (long) Math.ceil(requests.get() * quantile);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += histogram.get(i);
+                if (seen >= target) {
+                    return (i + 1) * BUCKET_MICROS / 1000.0;
+                }
+            }
+            return maxNanos.get() / 1_000_000.0;
+        }
+
+        void print(String label, int seconds) {
+            System.out.printf("[%s] requisições=%d erros=%d recusadas=%d vazão=%.0f req/s p50=%.2fms p99=%.2fms p99.9=%.2fms máx=%.2fms%n",
+                    label, requests.get(), errors.get(), rejected.get(), requests.get() / (double) seconds,
+                    percentile(0.50), percentile(0.99), percentile(0.999), maxNanos.get() / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+#!/usr/bin/env bash
+# Compara a subida da API: padrão (java -jar), com AOT do Spring e com AOT + CDS (perfil Maven fast-startup).
+# Para cada modo, RUNS execuções; mede o tempo até a primeira resposta de GET /products (do exec do java até o
+# 200), o tempo informado pelo Spring ("Started ... in") e a memória residente (RSS) logo após essa resposta.
+# Uso: scripts/compare-startup.sh
+#      RUNS=10 JAVA_OPTS="-Xmx512m" scripts/compare-startup.sh
+# Linux (date +%N). Os três modos rodam com o perfil "prod" (o mesmo do build AOT), para que só AOT/CDS mude
+# entre eles e não a configuração (springdoc, console do H2, controle de admissão).
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+RUNS=${RUNS:-5}
+PORT=${PORT:-8080}
+JAVA_OPTS=${JAVA_OPTS:-}
+URL="http://localhost:$PORT/products?limit=1"
+
+./mvnw -q -Pfast-startup -DskipTests package
+JAR=$(ls target/*.jar | grep -v '\.original$' | head -n 1)
+APP=$(basename "$JAR")
+
+now_ms() {
+  echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Mediana de uma lista de números (um por linha)
+median() {
+  sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+# run <rótulo> <diretório> <argumentos do java>. O CDS confere o classpath gravado no treino, então os modos
+# otimizados sobem de dentro de target/app, como no treino
+run() {
+  local label=$1
+  local dir=$2
+  shift 2
+  local log="target/startup-$label.log"
+  : > "target/startup-$label.tsv"
+  for i in $(seq "$RUNS"); do
+    local start
+    start=$(now_ms)
+    # shellcheck disable=SC2086
+    (cd "$dir" && exec java $JAVA_OPTS "$@" --server.port="$PORT") > "$log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+    until curl -sf -o /dev/null "$URL"; do
+      kill -0 "$pid" 2>/dev/null || { echo "[$label] a aplicação terminou na subida, veja $log" >&2; exit 1; }
+      sleep 0.02
+    done
+    local first=$(( $(now_ms) - start ))
+    local rss
+    rss=$(ps -o rss= -p "$pid" | tr -d ' ')
+    local started
+    started=$(sed -n 's/.*Started .* in \([0-9.]*\) seconds.*/\1/p' "$log" | head -n 1)
+    printf '%s\t%s\t%s\n' "$first" "$started" "$rss" >> "target/startup-$label.tsv"
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+  done
+  printf '[%s] primeira resposta=%sms spring=%ss rss=%sMB (mediana de %d)\n' "$label" \
+    "$(cut -f1 "target/startup-$label.tsv" | median)" \
+    "$(cut -f2 "target/startup-$label.tsv" | median)" \
+    "$(cut -f3 "target/startup-$label.tsv" | median | awk '{ printf "%.0f", $1 / 1024 }')" \
+    "$RUNS" | tee -a target/startup-summary.txt
+}
+
+: > target/startup-summary.txt
+run default . -jar "$JAR" --spring.profiles.active=prod
+run aot target/app -Dspring.aot.enabled=true -jar "$APP" --spring.profiles.active=prod
+run aot-cds target/app -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar "$APP" --spring.profiles.active=prod
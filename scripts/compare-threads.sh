@@ -0,0 +1,37 @@
+#!/usr/bin/env bash
+# Compara vazão e latência da API com threads de plataforma (padrão) e com virtual threads (perfil "virtual").
+# Uso: scripts/compare-threads.sh            (H2 em memória)
+#      CLIENTS=2000 DURATION=60 SPRING_DATASOURCE_URL=jdbc:postgresql://host/db \
+#      SPRING_DATASOURCE_USERNAME=... SPRING_DATASOURCE_PASSWORD=... scripts/compare-threads.sh
+# Com H2 em memória o JDBC quase não bloqueia; a diferença aparece com um banco de verdade (rede + disco).
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+CLIENTS=${CLIENTS:-1000}
+DURATION=${DURATION:-30}
+WARMUP=${WARMUP:-10}
+SEED=${SEED:-5000}
+PORT=${PORT:-8080}
+
+./mvnw -q -DskipTests package
+JAR=$(ls target/*.jar | grep -v '\.original$' | head -n 1)
+
+run() {
+  local label=$1
+  shift
+  java -jar "$JAR" --server.port="$PORT" "$@" > "target/loadtest-$label.log" 2>&1 &
+  local pid=$!
+  trap 'kill $pid 2>/dev/null || true' EXIT
+  until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do sleep 1; done
+  java scripts/LoadTest.java --base "http://localhost:$PORT" --clients "$CLIENTS" --duration "$DURATION" \
+       --warmup "$WARMUP" --seed "$SEED" --label "$label" | tee -a target/loadtest-summary.txt
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  trap - EXIT
+}
+
+: > target/loadtest-summary.txt
+run platform
+run virtual --spring.profiles.active=virtual
+echo
+grep -E '^\[(platform|virtual)\] requisições' target/loadtest-summary.txt
@@ -0,0 +1,151 @@
+package com.example.springboot.benchmarks;
+
+import com.example.springboot.dtos.ProductResponseDto;
+import com.example.springboot.dtos.VendedorSummaryDto;
+import com.example.springboot.links.HalCollections;
+import com.example.springboot.links.LinkTemplates;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.hateoas.server.core.EmbeddedWrapper;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Serialização Jackson de uma página HAL de produtos (CollectionModel de EntityModel com links), como
+// em GET /products, para "items" produtos. "serialize" mede só a escrita do JSON de uma coleção pronta;
+// "buildAndSerialize" inclui a montagem dos EntityModel e links feita pelo controller; "serializeItemByItem"
+// escreve a mesma página como um CollectionModel comum, cujos itens o HAL acrescenta ao "_embedded" um a um
+// (cópia da lista a cada item, ver HalCollections). Ao final de cada
+// trial o tamanho do JSON por item é impresso; com "-prof gc" aparecem também os bytes alocados:
+//   mvn -Pjmh test-compile exec:exec -Djmh.args="HalSerialization -prof gc"
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class HalSerializationBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    private int items;
+
+    private List<ProductResponseDto> products;
+
+    private CollectionModel<EmbeddedWrapper> collection;
+
+    private CollectionModel<EntityModel<ProductResponseDto>> itemByItem;
+
+    private LinkTemplates linkTemplates;
+
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Simula a requisição atual, da qual os links extraem host e porta
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        linkTemplates = new LinkTemplates();
+
+        // Mesmo módulo HAL que o Spring HATEOAS registra no conversor application/hal+json
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new Jackson2HalModule());
+        objectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+
+        // Produtos distribuídos entre 100 vendedores, como na listagem real (resumo do vendedor em cada item)
+        List<VendedorSummaryDto> vendedores = new ArrayList<>();
+        for (int v = 0; v < 100; v++) {
+            vendedores.add(new VendedorSummaryDto(UUID.randomUUID(), "Vendedor " + v));
+        }
+        products = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            products.add(new ProductResponseDto(UUID.randomUUID(), "Produto " + i, BigDecimal.valueOf(i, 2),
+                    vendedores.get(i % vendedores.size())));
+        }
+        collection = build();
+        itemByItem = CollectionModel.of(models(), collection.getRequiredLink("self"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.printf("%nJSON: %.1f bytes por item%n", (double) write(collection) / items);
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public long serialize() throws IOException {
+        return write(collection);
+    }
+
+    @Benchmark
+    public long buildAndSerialize() throws IOException {
+        return write(build());
+    }
+
+    @Benchmark
+    public long serializeItemByItem() throws IOException {
+        return write(itemByItem);
+    }
+
+    private CollectionModel<EmbeddedWrapper> build() {
+        return HalCollections.of(models(), linkTemplates.products().page(null, null));
+    }
+
+    private List<EntityModel<ProductResponseDto>> models() {
+        LinkTemplates.ResourceLinks links = linkTemplates.products();
+        List<EntityModel<ProductResponseDto>> models = new ArrayList<>(products.size());
+        for (ProductResponseDto product : products) {
+            models.add(EntityModel.of(product, links.self(product.idProduct()), links.collection()));
+        }
+        return models;
+    }
+
+    // Escreve em um OutputStream que só conta os bytes, para medir a serialização e não a cópia em memória
+    private long write(Object value) throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        objectMapper.writeValue(out, value);
+        return out.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
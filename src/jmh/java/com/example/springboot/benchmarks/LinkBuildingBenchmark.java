@@ -0,0 +1,94 @@
+package com.example.springboot.benchmarks;
+
+import com.example.springboot.controllers.ProductController;
+import com.example.springboot.links.LinkTemplates;
+import com.example.springboot.models.ProductModel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+// Compara a montagem da coleção HATEOAS de produtos com linkTo(methodOn(...)) por item
+// (abordagem antiga) e com os moldes do LinkTemplates resolvidos uma vez por requisição.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LinkBuildingBenchmark {
+
+    @Param({"1000", "10000"})
+    private int items;
+
+    private List<ProductModel> products;
+
+    private LinkTemplates linkTemplates;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Simula a requisição atual, da qual os links extraem host e porta
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        linkTemplates = new LinkTemplates();
+        products = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            ProductModel product = new ProductModel();
+            product.setIdProduct(UUID.randomUUID());
+            product.setName("Produto " + i);
+            product.setValue(BigDecimal.valueOf(i));
+            products.add(product);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public CollectionModel<EntityModel<ProductModel>> methodOnPerItem() {
+        List<EntityModel<ProductModel>> models = new ArrayList<>(products.size());
+        for (ProductModel product : products) {
+            models.add(EntityModel.of(product,
+                    linkTo(methodOn(ProductController.class).getOneProduct(product.getIdProduct(), null)).withSelfRel(),
+                    linkTo(methodOn(ProductController.class).getAllProducts(null, null, null, null, null, null, null, null)).withRel("products").expand()));
+        }
+        return CollectionModel.of(models,
+                linkTo(methodOn(ProductController.class).getAllProducts(null, null, null, null, null, null, null, null)).withSelfRel().expand());
+    }
+
+    @Benchmark
+    public CollectionModel<EntityModel<ProductModel>> precomputedTemplates() {
+        LinkTemplates.ResourceLinks links = linkTemplates.products();
+        List<EntityModel<ProductModel>> models = new ArrayList<>(products.size());
+        for (ProductModel product : products) {
+            models.add(EntityModel.of(product, links.self(product.getIdProduct()), links.collection()));
+        }
+        return CollectionModel.of(models, links.page(null, null));
+    }
+}
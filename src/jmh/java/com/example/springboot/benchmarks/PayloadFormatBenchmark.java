@@ -0,0 +1,135 @@
+package com.example.springboot.benchmarks;
+
+import com.example.springboot.dtos.ProductResponseDto;
+import com.example.springboot.dtos.VendedorSummaryDto;
+import com.example.springboot.links.HalCollections;
+import com.example.springboot.links.LinkTemplates;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.hateoas.server.core.EmbeddedWrapper;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Uma página HAL de "items" produtos (como GET /products) em cada formato negociável pelo Accept: JSON HAL,
+// CBOR e Smile, com o mesmo módulo HAL. "serialize" é o custo do servidor, "deserialize" o do consumidor
+// (leitura tipada de volta para EntityModel<ProductResponseDto>) e "serializeGzip" inclui a compressão que o
+// servidor aplica com Accept-Encoding: gzip. Ao final de cada trial são impressos os bytes na rede por
+// formato, sem e com gzip:
+//   mvn -Pjmh test-compile exec:exec -Djmh.args="PayloadFormat -prof gc"
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class PayloadFormatBenchmark {
+
+    private static final TypeReference<CollectionModel<EntityModel<ProductResponseDto>>> PAGE_TYPE = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"10000"})
+    private int items;
+
+    private CollectionModel<EmbeddedWrapper> collection;
+
+    private ObjectMapper objectMapper;
+
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Simula a requisição atual, da qual os links extraem host e porta
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        LinkTemplates linkTemplates = new LinkTemplates();
+
+        objectMapper = new ObjectMapper(factory(format));
+        objectMapper.registerModule(new Jackson2HalModule());
+        objectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+
+        List<VendedorSummaryDto> vendedores = new ArrayList<>();
+        for (int v = 0; v < 100; v++) {
+            vendedores.add(new VendedorSummaryDto(UUID.randomUUID(), "Vendedor " + v));
+        }
+        LinkTemplates.ResourceLinks links = linkTemplates.products();
+        List<EntityModel<ProductResponseDto>> models = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            ProductResponseDto product = new ProductResponseDto(UUID.randomUUID(), "Produto " + i,
+                    BigDecimal.valueOf(i, 2), vendedores.get(i % vendedores.size()));
+            models.add(EntityModel.of(product, links.self(product.idProduct()), links.collection()));
+        }
+        collection = HalCollections.of(models, links.page(null, null));
+        payload = objectMapper.writeValueAsBytes(collection);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.printf("%n%s: %d bytes (%.1f por item), %d bytes com gzip%n",
+                format, payload.length, (double) payload.length / items, serializeGzip());
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public int serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(collection).length;
+    }
+
+    @Benchmark
+    public int serializeGzip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            objectMapper.writeValue(gzip, collection);
+        }
+        return out.size();
+    }
+
+    @Benchmark
+    public CollectionModel<EntityModel<ProductResponseDto>> deserialize() throws IOException {
+        return objectMapper.readValue(payload, PAGE_TYPE);
+    }
+
+    private static JsonFactory factory(String format) {
+        return switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.springboot.benchmarks;
+
+import com.example.springboot.dtos.ProductRecordDto;
+import com.example.springboot.dtos.ProductResponseDto;
+import com.example.springboot.mappers.ProductMapper;
+import com.example.springboot.mappers.ProductMapperImpl;
+import com.example.springboot.mappers.VendedorMapperImpl;
+import com.example.springboot.models.ProductModel;
+import com.example.springboot.models.VendedorModel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanUtils;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Custo de converter o ProductRecordDto recebido no POST em ProductModel: BeanUtils.copyProperties
+// (reflexão sobre os getters/setters, como o controller fazia), atribuição direta dos campos e o
+// ProductMapper gerado pelo MapStruct (usado hoje), além da conversão ProductModel -> ProductResponseDto.
+// Com "-prof gc" o JMH mostra também os bytes alocados por operação:
+//   mvn -Pjmh test-compile exec:exec -Djmh.args="ProductMapping -prof gc"
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductMappingBenchmark {
+
+    private final ProductRecordDto dto = new ProductRecordDto("Café Torrado e Moído 500g", new BigDecimal("18.90"), UUID.randomUUID());
+
+    // Mesma instância que o Spring montaria (injeção por construtor)
+    private final ProductMapper productMapper = new ProductMapperImpl(new VendedorMapperImpl());
+
+    private final ProductModel product = productWithVendedor();
+
+    @Benchmark
+    public ProductModel beanUtilsCopyProperties() {
+        ProductModel productModel = new ProductModel();
+        BeanUtils.copyProperties(dto, productModel);
+        return productModel;
+    }
+
+    @Benchmark
+    public ProductModel directAssignment() {
+        ProductModel productModel = new ProductModel();
+        productModel.setName(dto.name());
+        productModel.setValue(dto.value());
+        return productModel;
+    }
+
+    @Benchmark
+    public ProductModel generatedMapper() {
+        return productMapper.toEntity(dto);
+    }
+
+    @Benchmark
+    public ProductResponseDto generatedToResponse() {
+        return productMapper.toResponse(product);
+    }
+
+    private static ProductModel productWithVendedor() {
+        VendedorModel vendedor = new VendedorModel();
+        vendedor.setIdVendedor(UUID.randomUUID());
+        vendedor.setNome("Mercearia Central");
+        vendedor.setEmail("contato@mercearia.com");
+
+        ProductModel product = new ProductModel();
+        product.setIdProduct(UUID.randomUUID());
+        product.setName("Café Torrado e Moído 500g");
+        product.setValue(new BigDecimal("18.90"));
+        product.setVendedor(vendedor);
+        return product;
+    }
+}
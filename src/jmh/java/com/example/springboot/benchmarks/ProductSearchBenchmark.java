@@ -0,0 +1,70 @@
+package com.example.springboot.benchmarks;
+
+import com.example.springboot.dtos.ProductSearchHitDto;
+import com.example.springboot.events.ProductChangedEvent;
+import com.example.springboot.search.ProductSearchIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Latência de GET /products/search sobre o índice em memória com "products" nomes sintéticos em
+// português. SampleTime registra a distribuição, então o relatório traz p99/p99.9 por consulta:
+//   mvn -Pjmh test-compile exec:exec -Djmh.args="ProductSearch"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class ProductSearchBenchmark {
+
+    private static final String[] PRODUCTS = {"Pão", "Açúcar", "Café", "Feijão", "Arroz", "Macarrão", "Biscoito", "Leite",
+            "Queijo", "Manteiga", "Óleo", "Farinha", "Sabão", "Detergente", "Chocolate", "Suco", "Água", "Cerveja", "Vinho",
+            "Azeite", "Molho", "Tempero", "Sal", "Fubá", "Goiabada", "Requeijão", "Iogurte", "Presunto", "Salame", "Linguiça"};
+
+    private static final String[] QUALIFIERS = {"Integral", "Refinado", "Tradicional", "Extra", "Orgânico", "Light", "Zero",
+            "Premium", "Caseiro", "Francês", "Mineiro", "Carioca", "Especial", "Fino", "Grosso", "Tostado", "Líquido",
+            "em Pó", "de Coco", "de Milho", "de Trigo", "com Sal", "sem Sal", "Desnatado", "Integral", "Gourmet"};
+
+    private static final String[] BRANDS = {"União", "Pilão", "Camil", "Tio João", "Piracanjuba", "Nestlé", "Vigor",
+            "Sadia", "Perdigão", "Aurora", "Quatá", "Italac", "Predilecta", "Qualy", "Yoki", "Kitano", "Garoto", "Lacta"};
+
+    @Param({"1000000"})
+    private int products;
+
+    @Param({"acucar", "cafe pilao", "pa", "queijo minas", "integral organico uniao"})
+    private String query;
+
+    private ProductSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new ProductSearchIndex();
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < products; i++) {
+            String name = PRODUCTS[random.nextInt(PRODUCTS.length)] + " " + QUALIFIERS[random.nextInt(QUALIFIERS.length)]
+                    + " " + BRANDS[random.nextInt(BRANDS.length)] + " " + (100 + random.nextInt(900)) + "g";
+            index.onProductChanged(ProductChangedEvent.saved(new UUID(random.nextLong(), random.nextLong()), name));
+        }
+    }
+
+    @Benchmark
+    public List<ProductSearchHitDto> search() {
+        return index.search(query, 50);
+    }
+}
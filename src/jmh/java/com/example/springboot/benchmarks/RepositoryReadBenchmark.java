@@ -0,0 +1,142 @@
+package com.example.springboot.benchmarks;
+
+import com.example.springboot.SpringbootApplication;
+import com.example.springboot.dtos.EntityVersionDto;
+import com.example.springboot.dtos.ProductDetailDto;
+import com.example.springboot.dtos.ProductFilterDto;
+import com.example.springboot.dtos.ProductRecordDto;
+import com.example.springboot.dtos.ProductResponseDto;
+import com.example.springboot.models.ProductModel;
+import com.example.springboot.models.VendedorModel;
+import com.example.springboot.pagination.KeysetPagination;
+import com.example.springboot.pagination.ProductSort;
+import com.example.springboot.repositories.ProductRepository;
+import com.example.springboot.repositories.VendedorRepository;
+import com.example.springboot.services.ProductService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Leituras dos repositórios contra o H2 embutido, com a aplicação real (sem servidor web e sem cache):
+// primeira página da listagem (projeção), página filtrada/ordenada, um produto como entidade com vendedor e
+// como projeção da resposta, e a consulta de versão (ETag).
+//   mvn -Pjmh test-compile exec:exec -Djmh.args="RepositoryRead -p products=1000000"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class RepositoryReadBenchmark {
+
+    private static final int VENDEDORES = 100;
+
+    private static final int INSERT_CHUNK = 10_000;
+
+    @Param({"100000"})
+    private int products;
+
+    private ConfigurableApplicationContext context;
+
+    private ProductRepository productRepository;
+
+    private ProductService productService;
+
+    private List<UUID> productIds;
+
+    private UUID vendedorId;
+
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(SpringbootApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:repository_bench;DB_CLOSE_DELAY=-1",
+                        "spring.main.banner-mode=off", "logging.level.root=WARN")
+                .run();
+        productRepository = context.getBean(ProductRepository.class);
+        productService = context.getBean(ProductService.class);
+        VendedorRepository vendedorRepository = context.getBean(VendedorRepository.class);
+
+        List<UUID> vendedorIds = new ArrayList<>(VENDEDORES);
+        for (int v = 0; v < VENDEDORES; v++) {
+            VendedorModel vendedor = new VendedorModel();
+            vendedor.setNome("Vendedor " + v);
+            vendedor.setEmail("vendedor" + v + "@loja.com");
+            vendedorIds.add(vendedorRepository.save(vendedor).getIdVendedor());
+        }
+        vendedorId = vendedorIds.get(0);
+
+        // Carga pelo mesmo caminho do POST /products/batch (lotes JDBC)
+        SplittableRandom data = new SplittableRandom(42);
+        for (int start = 0; start < products; start += INSERT_CHUNK) {
+            List<ProductRecordDto> chunk = new ArrayList<>(INSERT_CHUNK);
+            for (int i = start; i < Math.min(start + INSERT_CHUNK, products); i++) {
+                chunk.add(new ProductRecordDto("Produto " + i, BigDecimal.valueOf(data.nextInt(100_000), 2),
+                        vendedorIds.get(i % VENDEDORES)));
+            }
+            productService.createProducts(chunk);
+        }
+        productIds = productRepository.findAll().stream().map(ProductModel::getIdProduct).toList();
+        random = new SplittableRandom(7);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProductResponseDto> firstPage() {
+        return productRepository.findFirstPage(KeysetPagination.probeLimit(KeysetPagination.DEFAULT_LIMIT));
+    }
+
+    @Benchmark
+    public List<ProductModel> filteredPageByValue() {
+        ProductFilterDto filter = new ProductFilterDto(vendedorId, null, null, null);
+        return productService.findPage(filter, ProductSort.VALUE, null, KeysetPagination.DEFAULT_LIMIT);
+    }
+
+    @Benchmark
+    public Optional<ProductModel> oneWithVendedor() {
+        return productRepository.findWithVendedorByIdProduct(randomId());
+    }
+
+    // Mesmo produto projetado direto no registro da resposta, com a versão (GET /products/{id})
+    @Benchmark
+    public Optional<ProductDetailDto> oneAsResponse() {
+        return productRepository.findDetailByIdProduct(randomId());
+    }
+
+    @Benchmark
+    public Optional<EntityVersionDto> versionOnly() {
+        return productRepository.findVersionByIdProduct(randomId());
+    }
+
+    private UUID randomId() {
+        return productIds.get(random.nextInt(productIds.size()));
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.springboot.benchmarks;
+
+import com.example.springboot.models.TimeOrderedUuidGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Compara a carga de "rows" linhas em uma tabela com chave primária UUID usando UUID v4 aleatório
+// e o TimeOrderedUuidGenerator (v7). Por padrão usa H2 em memória; para PostgreSQL:
+//   mvn -Pjmh test-compile exec:exec -Djmh.args="UuidInsert -p jdbcUrl=jdbc:postgresql://host/db -p user=... -p password=..."
+// Ao final de cada medição o tamanho do índice da chave primária é impresso (somente PostgreSQL).
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class UuidInsertBenchmark {
+
+    private static final int JDBC_BATCH_SIZE = 1000;
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"random", "timeOrdered"})
+    private String strategy;
+
+    @Param({"jdbc:h2:mem:uuid_bench;DB_CLOSE_DELAY=-1"})
+    private String jdbcUrl;
+
+    @Param({"sa"})
+    private String user;
+
+    @Param({""})
+    private String password;
+
+    private Connection connection;
+
+    private Supplier<UUID> ids;
+
+    @Setup(Level.Trial)
+    public void connect() throws SQLException {
+        connection = DriverManager.getConnection(jdbcUrl, user, password);
+        connection.setAutoCommit(false);
+        ids = "random".equals(strategy) ? UUID::randomUUID : TimeOrderedUuidGenerator::generate;
+    }
+
+    // Recria a tabela antes de cada carga para que todas partam de um índice vazio
+    @Setup(Level.Iteration)
+    public void createTable() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists uuid_bench");
+            statement.execute("create table uuid_bench (id uuid not null, name varchar(255), product_value numeric(38,2), "
+                    + "constraint uuid_bench_pk primary key (id))");
+        }
+        connection.commit();
+    }
+
+    @Benchmark
+    public int insertRows() throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into uuid_bench (id, name, product_value) values (?, ?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                insert.setObject(1, ids.get());
+                insert.setString(2, "Produto " + i);
+                insert.setBigDecimal(3, BigDecimal.valueOf(i));
+                insert.addBatch();
+                if (i % JDBC_BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        return rows;
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportIndexSize() throws SQLException {
+        if (!jdbcUrl.startsWith("jdbc:postgresql")) {
+            return;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(
+                     "select pg_relation_size('uuid_bench_pk'), pg_size_pretty(pg_relation_size('uuid_bench_pk'))")) {
+            result.next();
+            System.out.printf("%n[%s] índice da chave primária: %d bytes (%s)%n", strategy, result.getLong(1), result.getString(2));
+        }
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void disconnect() throws SQLException {
+        connection.close();
+    }
+}
@@ -2,17 +2,33 @@ package com.example.springboot;
 
 // Importa o controller apenas se precisar fazer referência direta (aqui não é necessário)
 import com.example.springboot.controllers.ProductController;
+import com.example.springboot.exceptions.BatchTooLargeException;
+import com.example.springboot.exceptions.InvalidCursorException;
+import com.example.springboot.exceptions.InvalidFileFormatException;
+import com.example.springboot.exceptions.InvalidSortException;
+import com.example.springboot.exceptions.ServiceOverloadedException;
+
+// Conflito de versão detectado pelo @Version (atualização concorrente)
+import org.springframework.dao.OptimisticLockingFailureException;
 
 // Importações de classes para trabalhar com respostas HTTP e códigos de status
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 
 // Importação para capturar erros de validação do @Valid
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 
 // Importação para tratar exceções de forma global
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 // Para obter detalhes da requisição, como URL e parâmetros
 import org.springframework.web.context.request.WebRequest;
@@ -57,22 +73,151 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
     }
 
+    // ---------------------------
+    // TRATAMENTO DE PARÂMETROS DE CONSULTA INVÁLIDOS
+    // ---------------------------
+
+    // Cursor "after" adulterado ou "sort"/"format" fora da lista permitida é erro do cliente (400), não do servidor
+    @ExceptionHandler({InvalidCursorException.class, InvalidSortException.class, InvalidFileFormatException.class})
+    public ResponseEntity<Object> handleInvalidCursor(RuntimeException ex, WebRequest request) {
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now()); // Data e hora do erro
+        body.put("status", HttpStatus.BAD_REQUEST.value()); // Código HTTP 400 (Bad Request)
+        body.put("message", ex.getMessage()); // Mensagem explicando o parâmetro inválido
+        body.put("path", request.getDescription(false).replace("uri=", "")); // Caminho da requisição
+
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
+    // Parâmetro que não pode ser convertido para o tipo esperado (ex.: minValue=abc, vendedorId inválido)
+    // ou parâmetro obrigatório ausente (ex.: /products/search sem q)
+    @ExceptionHandler({MethodArgumentTypeMismatchException.class, MissingServletRequestParameterException.class})
+    public ResponseEntity<Object> handleInvalidParameter(Exception ex, WebRequest request) {
+
+        String message = ex instanceof MethodArgumentTypeMismatchException mismatch
+                ? "Valor inválido para o parâmetro " + mismatch.getName() + ": " + mismatch.getValue()
+                : "Parâmetro obrigatório ausente: " + ((MissingServletRequestParameterException) ex).getParameterName();
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now()); // Data e hora do erro
+        body.put("status", HttpStatus.BAD_REQUEST.value()); // Código HTTP 400 (Bad Request)
+        body.put("message", message); // Qual parâmetro está inválido ou ausente
+        body.put("path", request.getDescription(false).replace("uri=", "")); // Caminho da requisição
+
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
+    // Corpo que não pode ser lido (JSON malformado, tipo errado num campo): erro do cliente (400)
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<Object> handleUnreadableBody(HttpMessageNotReadableException ex, WebRequest request) {
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now()); // Data e hora do erro
+        body.put("status", HttpStatus.BAD_REQUEST.value()); // Código HTTP 400 (Bad Request)
+        body.put("message", "Corpo da requisição inválido."); // Sem repassar os detalhes do parser
+        body.put("path", request.getDescription(false).replace("uri=", "")); // Caminho da requisição
+
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
+    // ---------------------------
+    // TRATAMENTO DE LOTES ACIMA DO LIMITE
+    // ---------------------------
+
+    // Lotes maiores que loja.batch.max-items são recusados por inteiro com 413 (Payload Too Large)
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<Object> handleBatchTooLarge(BatchTooLargeException ex, WebRequest request) {
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now()); // Data e hora do erro
+        body.put("status", HttpStatus.PAYLOAD_TOO_LARGE.value()); // Código HTTP 413
+        body.put("message", ex.getMessage()); // Tamanho recebido e limite permitido
+        body.put("path", request.getDescription(false).replace("uri=", "")); // Caminho da requisição
+
+        return new ResponseEntity<>(body, HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    // ---------------------------
+    // TRATAMENTO DE CORPO EM FORMATO NÃO SUPORTADO
+    // ---------------------------
+
+    // Content-Type fora dos aceitos pelo endpoint (ex.: POST /products/import só aceita CSV e NDJSON)
+    // ou malformado (MediaType.parseMediaType no código da aplicação): 415
+    @ExceptionHandler({HttpMediaTypeNotSupportedException.class, InvalidMediaTypeException.class})
+    public ResponseEntity<Object> handleUnsupportedMediaType(Exception ex, WebRequest request) {
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now()); // Data e hora do erro
+        body.put("status", HttpStatus.UNSUPPORTED_MEDIA_TYPE.value()); // Código HTTP 415 (Unsupported Media Type)
+        body.put("message", ex.getMessage()); // Content-Type recebido
+        body.put("path", request.getDescription(false).replace("uri=", "")); // Caminho da requisição
+
+        return new ResponseEntity<>(body, HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+    }
+
+    // ---------------------------
+    // TRATAMENTO DE CONFLITO DE VERSÃO
+    // ---------------------------
+
+    // Outra requisição alterou o mesmo registro entre a leitura e a gravação: 409 (Conflict)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLocking(OptimisticLockingFailureException ex, WebRequest request) {
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now()); // Data e hora do erro
+        body.put("status", HttpStatus.CONFLICT.value()); // Código HTTP 409 (Conflict)
+        body.put("message", "O registro foi alterado por outra requisição. Busque a versão atual e tente novamente.");
+        body.put("path", request.getDescription(false).replace("uri=", "")); // Caminho da requisição
+
+        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+    }
+
+    // ---------------------------
+    // TRATAMENTO DE SOBRECARGA
+    // ---------------------------
+
+    // Limite de requisições simultâneas atingido (controle de admissão): 503 imediato, com Retry-After,
+    // em vez de a requisição esperar na fila até estourar o tempo
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<Object> handleServiceOverloaded(ServiceOverloadedException ex, WebRequest request) {
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now()); // Data e hora do erro
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value()); // Código HTTP 503 (Service Unavailable)
+        body.put("message", ex.getMessage()); // Tipo de requisição, limite atual e quando tentar de novo
+        body.put("path", request.getDescription(false).replace("uri=", "")); // Caminho da requisição
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(body);
+    }
+
     // ---------------------------
     // TRATAMENTO GENÉRICO DE EXCEÇÕES
     // ---------------------------
 
-    // Indica que este método tratará qualquer exceção não capturada por outros métodos
+    // Indica que este método tratará qualquer exceção não capturada por outros métodos.
+    // As exceções do próprio Spring MVC que já trazem um status (405, 404, 406...) mantêm esse status:
+    // só o que é de fato falha do servidor vira 500 (e conta como falha no controle de admissão)
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleAllExceptions(Exception ex, WebRequest request) {
 
+        HttpStatusCode status = HttpStatus.INTERNAL_SERVER_ERROR;
+        HttpHeaders headers = new HttpHeaders();
+        if (ex instanceof ErrorResponse errorResponse) {
+            status = errorResponse.getStatusCode();
+            headers.addAll(errorResponse.getHeaders()); // Ex.: Allow no 405
+        }
+
         // Cria um mapa para armazenar informações do erro
         Map<String, Object> body = new HashMap<>();
         body.put("timestamp", LocalDateTime.now()); // Data e hora do erro
-        body.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value()); // Código HTTP 500 (Internal Server Error)
+        body.put("status", status.value()); // Código HTTP (500 - Internal Server Error, se não vier da exceção)
         body.put("message", ex.getMessage()); // Mensagem da exceção
         body.put("path", request.getDescription(false).replace("uri=", "")); // Caminho da requisição
 
-        // Retorna a resposta com status 500 e detalhes do erro
-        return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
+        // Retorna a resposta com o status e detalhes do erro
+        return new ResponseEntity<>(body, headers, status);
     }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.example.springboot.admission;
+
+import com.example.springboot.exceptions.ServiceOverloadedException;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+// Controle de admissão na frente dos controllers: cada requisição ocupa uma vaga no limitador de leituras
+// (GET/HEAD) ou no de escritas, que têm limites independentes. Sem vaga, ServiceOverloadedException vira
+// 503 com Retry-After no GlobalExceptionHandler, antes de qualquer acesso ao banco. É um interceptor, e não
+// um filtro do servlet, justamente para que a recusa passe pelo GlobalExceptionHandler.
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT = AdmissionControlInterceptor.class.getName() + ".permit";
+
+    private final ConcurrencyLimiter reads;
+    private final ConcurrencyLimiter writes;
+    private final long retryAfterSeconds;
+
+    public AdmissionControlInterceptor(ConcurrencyLimiter reads, ConcurrencyLimiter writes, long retryAfterSeconds) {
+        this.reads = reads;
+        this.writes = writes;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // O despacho assíncrono (fim de uma resposta em streaming) não é uma requisição nova
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        ConcurrencyLimiter limiter = read ? reads : writes;
+        if (!limiter.tryAcquire()) {
+            throw new ServiceOverloadedException(read ? "leitura" : "escrita", limiter.limit(), retryAfterSeconds);
+        }
+        request.setAttribute(PERMIT, new Permit(limiter, System.nanoTime(), limiter.inFlight()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT) instanceof Permit permit) {
+            request.removeAttribute(PERMIT);
+            permit.limiter.release(System.nanoTime() - permit.startNanos, permit.inFlightAtStart,
+                    ex != null || response.getStatus() >= 500);
+        }
+    }
+
+    // Respostas que continuam em outra thread: a vaga é devolvida aqui, sem amostra de latência
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(PERMIT) instanceof Permit permit) {
+            request.removeAttribute(PERMIT);
+            permit.limiter.releaseWithoutSample();
+        }
+    }
+
+    public ConcurrencyLimiter reads() {
+        return reads;
+    }
+
+    public ConcurrencyLimiter writes() {
+        return writes;
+    }
+
+    private record Permit(ConcurrencyLimiter limiter, long startNanos, int inFlightAtStart) {
+    }
+}
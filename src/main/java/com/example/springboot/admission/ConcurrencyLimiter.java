@@ -0,0 +1,101 @@
+package com.example.springboot.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Limite de requisições simultâneas que se ajusta à latência observada (no estilo do TCP Vegas, com recuo
+// multiplicativo do AIMD). Cada requisição concluída é uma amostra:
+//  - a menor latência recente é a referência "sem fila" (rttNoLoad), renovada a cada probe-interval amostras
+//    para acompanhar mudanças de patamar do banco;
+//  - fila estimada = limite * (1 - rttNoLoad / latência): se ela é pequena o limite sobe; se cresce, desce;
+//  - uma requisição que falha com 5xx ou passa de slow-request divide o limite por 1/backoff-ratio.
+// O limite só sobe enquanto está de fato sendo usado (em uso >= metade), para não crescer sem carga.
+// Acima do limite a requisição é recusada na hora, em vez de esperar na fila do Tomcat ou do pool de conexões.
+public class ConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long slowRequestNanos;
+    private final int probeInterval;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    // Alterados só sob o monitor (uma amostra por vez); o limite é lido sem bloqueio a cada requisição
+    private volatile double limit;
+    private long rttNoLoad;
+    private int samples;
+
+    public ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                              long slowRequestNanos, int probeInterval) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.slowRequestNanos = slowRequestNanos;
+        this.probeInterval = probeInterval;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    // Reserva uma vaga; false = limite atingido (a requisição deve ser recusada)
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Devolve a vaga e ajusta o limite com a latência da requisição; inFlightAtStart = quantas estavam em
+    // andamento quando ela entrou (inclusive ela)
+    public void release(long latencyNanos, int inFlightAtStart, boolean failed) {
+        inFlight.decrementAndGet();
+        onSample(latencyNanos, inFlightAtStart, failed || latencyNanos > slowRequestNanos);
+    }
+
+    // Devolve a vaga sem amostra (ex.: resposta que continua em outra thread)
+    public void releaseWithoutSample() {
+        inFlight.decrementAndGet();
+    }
+
+    private synchronized void onSample(long rtt, int inFlightAtStart, boolean dropped) {
+        if (dropped) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+            return;
+        }
+        if (rttNoLoad == 0 || rtt < rttNoLoad || ++samples >= probeInterval) {
+            rttNoLoad = rtt;
+            samples = 0;
+        }
+        if (inFlightAtStart * 2 < limit) {
+            return;
+        }
+        double log = Math.max(1, Math.log10(limit));
+        double queue = limit * (1 - (double) rttNoLoad / Math.max(rtt, 1));
+        if (queue <= 3 * log) {
+            limit = Math.min(maxLimit, limit + log);
+        } else if (queue >= 6 * log) {
+            limit = Math.max(minLimit, limit - log);
+        }
+    }
+
+    // -------------------- ESTADO (MÉTRICAS) --------------------
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    // Quantas foram recusadas desde a inicialização
+    public long rejected() {
+        return rejected.get();
+    }
+}
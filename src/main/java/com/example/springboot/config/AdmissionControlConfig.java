@@ -0,0 +1,75 @@
+package com.example.springboot.config;
+
+import com.example.springboot.admission.AdmissionControlInterceptor;
+import com.example.springboot.admission.ConcurrencyLimiter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+// Controle de admissão adaptativo em /products/** e /vendedores/** (ver ConcurrencyLimiter), com limites
+// separados para leituras e escritas em loja.admission.reads.* e loja.admission.writes.*. O limite atual, as
+// requisições em andamento e as recusadas ficam em loja.admission.limit, loja.admission.inflight e
+// loja.admission.rejected, com a tag type=read|write. Ligado só com loja.admission.enabled=true (perfil prod).
+@Configuration
+@ConditionalOnProperty(name = "loja.admission.enabled", havingValue = "true", matchIfMissing = false)
+public class AdmissionControlConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Bean
+    public AdmissionControlInterceptor admissionControlInterceptor() {
+        ConcurrencyLimiter reads = limiter(environment, "reads", 50);
+        ConcurrencyLimiter writes = limiter(environment, "writes", 20);
+        register(meterRegistry, "read", reads);
+        register(meterRegistry, "write", writes);
+        Duration retryAfter = environment.getProperty("loja.admission.retry-after", Duration.class, Duration.ofSeconds(1));
+        return new AdmissionControlInterceptor(reads, writes, Math.max(1, retryAfter.toSeconds()));
+    }
+
+    // Antes dos demais interceptores: uma requisição recusada não conta comandos SQL nem toca no banco.
+    // Conexões longas (feed SSE, exportação e importação em streaming) ficam de fora: ocupariam uma vaga por
+    // minutos e distorceriam a latência de referência
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(admissionControlInterceptor())
+                .addPathPatterns("/products/**", "/vendedores/**")
+                .excludePathPatterns("/products/changes", "/products/export", "/products/import")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    private static ConcurrencyLimiter limiter(Environment environment, String kind, int defaultInitial) {
+        String prefix = "loja.admission." + kind + ".";
+        return new ConcurrencyLimiter(
+                environment.getProperty(prefix + "initial-limit", Integer.class, defaultInitial),
+                environment.getProperty(prefix + "min-limit", Integer.class, 4),
+                environment.getProperty(prefix + "max-limit", Integer.class, 500),
+                environment.getProperty(prefix + "backoff-ratio", Double.class, 0.9),
+                environment.getProperty(prefix + "slow-request", Duration.class, Duration.ofSeconds(2)).toNanos(),
+                environment.getProperty(prefix + "probe-interval", Integer.class, 1000));
+    }
+
+    private static void register(MeterRegistry meterRegistry, String type, ConcurrencyLimiter limiter) {
+        Gauge.builder("loja.admission.limit", limiter, ConcurrencyLimiter::limit)
+                .description("Limite atual de requisições simultâneas").tag("type", type).register(meterRegistry);
+        Gauge.builder("loja.admission.inflight", limiter, ConcurrencyLimiter::inFlight)
+                .description("Requisições em andamento").tag("type", type).register(meterRegistry);
+        FunctionCounter.builder("loja.admission.rejected", limiter, ConcurrencyLimiter::rejected)
+                .description("Requisições recusadas com 503").tag("type", type).register(meterRegistry);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.springboot.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.mediatype.hal.HalMediaTypeConfiguration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+// Formatos binários para os consumidores internos: application/cbor e application/x-jackson-smile, escolhidos
+// pelo Accept (sem ele, ou com */*, a resposta continua em JSON HAL). Os ObjectMappers recebem a mesma
+// configuração HAL do application/hal+json, então "_links" e "_embedded" têm a mesma estrutura, só que
+// codificada em binário. Estes conversores substituem os que o Spring MVC registraria sozinho para esses
+// tipos, que escreveriam EntityModel/CollectionModel sem HAL ("links": [...]). Corpos de requisição nesses
+// formatos (POST/PUT) também são aceitos.
+@Configuration
+public class BinaryFormatsConfig implements WebMvcConfigurer {
+
+    // Tipos que as respostas de /products e /vendedores podem ter, na ordem dos conversores (JSON primeiro)
+    private static final List<MediaType> PRODUCIBLE = List.of(MediaTypes.HAL_JSON, MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR, new MediaType("application", "x-jackson-smile"));
+
+    // Sufixos do ETag dos formatos binários (o JSON fica sem sufixo)
+    public static final String CBOR_ETAG_SUFFIX = "+cbor";
+    public static final String SMILE_ETAG_SUFFIX = "+smile";
+
+    // O Jackson2ObjectMapperBuilder do Spring Boot é um bean prototype (spring.jackson.* já aplicado):
+    // cada conversor recebe o seu
+    @Bean
+    public MappingJackson2CborHttpMessageConverter halCborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder, HalMediaTypeConfiguration halConfiguration) {
+        return new MappingJackson2CborHttpMessageConverter(hal(builder.factory(new CBORFactory()).build(), halConfiguration));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter halSmileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder, HalMediaTypeConfiguration halConfiguration) {
+        return new MappingJackson2SmileHttpMessageConverter(hal(builder.factory(new SmileFactory()).build(), halConfiguration));
+    }
+
+    // A mesma URL responde em formatos diferentes conforme o Accept: caches intermediários precisam guardar uma
+    // cópia por formato, e o ETag de cada formato é diferente (ver eTagSuffix)
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/products/**", "/vendedores/**");
+    }
+
+    // Sufixo do ETag para o formato que a negociação vai escolher pelo Accept ("" = JSON). Cada formato tem bytes
+    // diferentes e precisa de um validador próprio: com o mesmo ETag, quem guardou o JSON receberia 304 ao pedir
+    // CBOR e reaproveitaria o corpo errado. Segue a negociação do Spring MVC: tipos aceitos ordenados por
+    // qualidade e especificidade, o primeiro compatível com um tipo produzido (JSON antes dos binários)
+    public static String eTagSuffix(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return "";
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return ""; // A negociação recusa o Accept inválido com 406
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType mediaType : accepted) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType producible : PRODUCIBLE) {
+                if (mediaType.isCompatibleWith(producible)) {
+                    return switch (producible.getSubtype()) {
+                        case "cbor" -> CBOR_ETAG_SUFFIX;
+                        case "x-jackson-smile" -> SMILE_ETAG_SUFFIX;
+                        default -> "";
+                    };
+                }
+            }
+        }
+        return "";
+    }
+
+    // Módulo HAL, serializadores de links/curies e relações das coleções, como no conversor application/hal+json
+    private static ObjectMapper hal(ObjectMapper mapper, HalMediaTypeConfiguration halConfiguration) {
+        return halConfiguration.configureObjectMapper(mapper);
+    }
+}
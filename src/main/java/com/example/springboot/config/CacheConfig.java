@@ -0,0 +1,58 @@
+package com.example.springboot.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+// Cache em memória (Caffeine) para as leituras de vendedores e produtos. É opcional:
+// só é ativado com loja.cache.enabled=true; sem ele as anotações @Cacheable/@CacheEvict
+// dos repositórios são ignoradas e toda leitura vai ao banco, como antes.
+@Configuration
+@EnableCaching
+@ConditionalOnProperty(name = "loja.cache.enabled", havingValue = "true")
+public class CacheConfig {
+
+    // Nomes dos caches usados nas anotações dos repositórios
+    public static final String VENDEDORES = "vendedores";
+    public static final String VENDEDOR_PAGES = "vendedorPages";
+    public static final String PRODUCTS = "products";
+    public static final String PRODUCT_PAGES = "productPages";
+
+    private static final List<String> CACHE_NAMES = List.of(VENDEDORES, VENDEDOR_PAGES, PRODUCTS, PRODUCT_PAGES);
+
+    // Limite de tamanho e tempo de vida usados quando loja.cache.specs.<nome> não é informado
+    private static final String DEFAULT_SPEC = "maximumSize=10000,expireAfterWrite=5m";
+
+    @Bean
+    public CacheManager cacheManager(Environment environment, MeterRegistry meterRegistry) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setAllowNullValues(false);
+
+        // Cada cache tem seu próprio tamanho máximo e TTL, e publica acertos/faltas/remoções como métricas
+        for (String name : CACHE_NAMES) {
+            String spec = environment.getProperty("loja.cache.specs." + name, DEFAULT_SPEC);
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> cache = Caffeine.from(CaffeineSpec.parse(spec))
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+            caffeineCacheManager.registerCustomCache(name, cache);
+        }
+
+        // As remoções (@CacheEvict) só acontecem depois do commit, para que uma leitura concorrente
+        // não recoloque no cache um dado que a transação de escrita ainda vai alterar
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.springboot.config;
+
+import com.example.springboot.datasource.ReadYourWritesFilter;
+import com.example.springboot.datasource.ReplicaRoutingDataSource;
+import com.example.springboot.datasource.ReplicaSelection;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Roteamento leitura/escrita entre o banco primário (spring.datasource.*) e réplicas de leitura
+// (loja.datasource.replicas[n].*). É opcional: só é ativado com loja.datasource.routing.enabled=true; sem ele
+// o Spring Boot cria o DataSource único de sempre. As réplicas usam os mesmos limites de pool do primário
+// (spring.datasource.hikari.*), abrem conexões somente leitura e publicam as métricas hikaricp.* com a tag
+// pool=replica-N.
+@Configuration
+@ConditionalOnProperty(name = "loja.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Value("${loja.datasource.replica-selection:round-robin}")
+    private ReplicaSelection replicaSelection;
+
+    @Value("${loja.datasource.read-your-writes-window:5s}")
+    private Duration readYourWritesWindow;
+
+    // Pool do primário, configurado como o do Spring Boot
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource, Environment environment,
+                                                             MeterRegistry meterRegistry) {
+        List<DataSourceProperties> replicaProperties = Binder.get(environment)
+                .bind("loja.datasource.replicas", Bindable.listOf(DataSourceProperties.class))
+                .orElse(List.of());
+        if (replicaProperties.isEmpty()) {
+            throw new IllegalStateException("loja.datasource.routing.enabled=true exige ao menos uma réplica em loja.datasource.replicas[0].url");
+        }
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaProperties.size(); i++) {
+            HikariDataSource replica = replicaProperties.get(i).initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            replica.setPoolName("replica-" + i);
+            replica.setMaximumPoolSize(primaryDataSource.getMaximumPoolSize());
+            replica.setMinimumIdle(primaryDataSource.getMinimumIdle());
+            replica.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, replicaSelection);
+    }
+
+    // DataSource usado pelo JPA, JdbcTemplate e transações: a conexão física só é obtida (e roteada) no
+    // primeiro comando da transação, quando já se sabe se ela é somente leitura
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    // Por padrão a sessão do Hibernate segura a conexão até fechar, e com open-in-view ela dura a requisição:
+    // a segunda transação reaproveitaria a conexão (e o banco) da primeira. Liberando ao fim de cada transação,
+    // cada uma é roteada de novo
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    // Antes dos demais filtros, para valer durante toda a requisição
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(new ReadYourWritesFilter(readYourWritesWindow));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.springboot.config;
+
+import com.example.springboot.metrics.HandlerTags;
+import com.example.springboot.metrics.QueryCountInterceptor;
+import com.example.springboot.metrics.QueryCounter;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Instrumentação do caminho quente, exposta em /actuator/prometheus:
+//  - http.server.requests: tempo de cada endpoint (inclui a serialização da resposta), com histograma
+//    de percentis e a tag "handler" com o método do controller;
+//  - http.server.requests.queries: comandos SQL por requisição (QueryCounter + QueryCountInterceptor);
+//  - spring.data.repository.invocations: tempo de cada método de repositório;
+//  - hibernate.*: estatísticas do Hibernate (consultas, carregamentos de entidades, cache de 2º nível...).
+// Os histogramas são ligados em application.properties (management.metrics.distribution.*).
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Registra o contador como StatementInspector do Hibernate
+    @Bean
+    public HibernatePropertiesCustomizer queryCounterCustomizer(QueryCounter counter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, counter);
+    }
+
+    // Acrescenta a tag "handler" (ex.: ProductController.getAllProducts) às métricas http.server.requests
+    @Bean
+    public DefaultServerRequestObservationConvention handlerObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+                return super.getLowCardinalityKeyValues(context).and(KeyValue.of("handler", HandlerTags.handlerName(handler)));
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryCountInterceptor(queryCounter, meterRegistry));
+    }
+}
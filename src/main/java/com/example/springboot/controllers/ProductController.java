@@ -1,42 +1,97 @@
 package com.example.springboot.controllers;
 
 // Importações necessárias
+import com.example.springboot.config.BinaryFormatsConfig;
+import com.example.springboot.dtos.BatchResultDto;
+import com.example.springboot.dtos.CollectionVersionDto;
+import com.example.springboot.dtos.EntityVersionDto;
+import com.example.springboot.dtos.ProductBatchUpdateRecordDto;
+import com.example.springboot.dtos.ProductDetailDto;
+import com.example.springboot.dtos.ProductFilterDto;
+import com.example.springboot.dtos.ProductImportReportDto;
 import com.example.springboot.dtos.ProductRecordDto;
+import com.example.springboot.dtos.ProductResponseDto;
+import com.example.springboot.dtos.ProductSearchHitDto;
+import com.example.springboot.links.HalCollections;
+import com.example.springboot.links.LinkTemplates;
+import com.example.springboot.mappers.ProductMapper;
 import com.example.springboot.models.ProductModel;
 import com.example.springboot.models.VendedorModel;
+import com.example.springboot.pagination.KeysetPagination;
+import com.example.springboot.pagination.ProductSort;
 import com.example.springboot.repositories.ProductRepository;
 import com.example.springboot.repositories.VendedorRepository;
+import com.example.springboot.search.ProductSearchIndex;
+import com.example.springboot.services.ChangeFeedService;
+import com.example.springboot.services.ProductFileFormat;
+import com.example.springboot.services.ProductImportService;
+import com.example.springboot.services.ProductExportService;
+import com.example.springboot.services.ProductService;
 
 import jakarta.validation.Valid;
 
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.hateoas.EntityModel; // Representa um recurso com links HATEOAS
 import org.springframework.hateoas.CollectionModel; // Representa coleção de recursos com links HATEOAS
+import org.springframework.hateoas.server.core.EmbeddedWrapper; // Página inteira embrulhada de uma vez (ver HalCollections)
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
 import java.util.*;
 import java.util.stream.Collectors;
-
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
-// Importa métodos utilitários para criar links no HATEOAS
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/products") // Define que todos os endpoints começarão com /products
 public class ProductController {
 
+    // Buffers do GZIPOutputStream da exportação e do GZIPInputStream da importação
+    private static final int EXPORT_GZIP_BUFFER = 64 * 1024;
+    private static final int IMPORT_GZIP_BUFFER = 64 * 1024;
+
     @Autowired
     private ProductRepository productRepository; // Acesso ao banco de dados de produtos
 
     @Autowired
     private VendedorRepository vendedorRepository; // Acesso ao banco de dados de vendedores
 
+    @Autowired
+    private ProductService productService; // Operações em lote (uma transação e lotes JDBC por requisição)
+
+    @Autowired
+    private LinkTemplates linkTemplates; // Monta os links HATEOAS sem linkTo(methodOn(...)) por item
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex; // Índice invertido em memória usado por /products/search
+
+    @Autowired
+    private ProductExportService productExportService; // Exportação do catálogo em streaming (NDJSON/CSV)
+
+    @Autowired
+    private ProductImportService productImportService; // Importação de arquivos grandes em blocos transacionais
+
+    @Autowired
+    private ProductMapper productMapper; // Conversões DTO ↔ entidade geradas pelo MapStruct (sem reflexão)
+
+    @Autowired
+    private ChangeFeedService changeFeedService; // Feed de alterações (SSE) lido do registro de alterações
+
     // ======================= CREATE =======================
     // POST - Criar produto
     @PostMapping
-    public ResponseEntity<ProductModel> saveProduct(@RequestBody @Valid ProductRecordDto productRecordDto) {
+    public ResponseEntity<ProductResponseDto> saveProduct(@RequestBody @Valid ProductRecordDto productRecordDto) {
 
         // Busca o vendedor pelo ID informado no DTO
         Optional<VendedorModel> vendedorOptional = vendedorRepository.findById(productRecordDto.vendedorId());
@@ -45,107 +100,313 @@ public class ProductController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
         }
 
-        // Cria o objeto ProductModel e copia os dados do DTO
-        ProductModel productModel = new ProductModel();
-        BeanUtils.copyProperties(productRecordDto, productModel);
+        // Cria o ProductModel a partir do DTO com o mapper gerado em tempo de compilação (sem reflexão)
+        ProductModel productModel = productMapper.toEntity(productRecordDto);
 
         // Associa o vendedor ao produto
         productModel.setVendedor(vendedorOptional.get());
 
-        // Salva o produto no banco e retorna status 201 (Created)
-        return ResponseEntity.status(HttpStatus.CREATED).body(productRepository.save(productModel));
+        // Salva o produto no banco (com índice de busca e resumo do vendedor) e retorna status 201 (Created)
+        ProductModel saved = productService.createProduct(productModel);
+        return ResponseEntity.status(HttpStatus.CREATED).body(productMapper.toResponse(saved));
+    }
+
+    // ======================= CREATE EM LOTE =======================
+    // POST - Criar vários produtos de uma vez; o corpo da resposta traz o resultado de cada item
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDto> saveProducts(@RequestBody List<ProductRecordDto> productRecordDtos) {
+        return ResponseEntity.ok(productService.createProducts(productRecordDtos));
+    }
+
+    // ======================= UPDATE EM LOTE =======================
+    // PUT - Atualizar vários produtos de uma vez (cada item informa o idProduct)
+    @PutMapping("/batch")
+    public ResponseEntity<BatchResultDto> updateProducts(@RequestBody List<ProductBatchUpdateRecordDto> productBatchUpdateRecordDtos) {
+        return ResponseEntity.ok(productService.updateProducts(productBatchUpdateRecordDtos));
+    }
+
+    // ======================= DELETE EM LOTE =======================
+    // DELETE - Remover vários produtos a partir de uma lista de IDs
+    @DeleteMapping("/batch")
+    public ResponseEntity<BatchResultDto> deleteProducts(@RequestBody List<UUID> ids) {
+        return ResponseEntity.ok(productService.deleteProducts(ids));
+    }
+
+    // ======================= IMPORTAÇÃO =======================
+    // POST - Importar um arquivo grande de produtos (text/csv ou application/x-ndjson), lido em streaming.
+    // Aceita Content-Encoding: gzip; a resposta traz as contagens e as linhas rejeitadas
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ProductImportReportDto> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body) throws IOException {
+
+        InputStream input = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body, IMPORT_GZIP_BUFFER) : body;
+        return ResponseEntity.ok(productImportService.importProducts(ProductFileFormat.fromContentType(contentType), input));
     }
 
     // ======================= READ ALL =======================
-    // GET - Listar todos os produtos com HATEOAS
+    // GET - Listar produtos com HATEOAS, paginando por cursor (after) e tamanho de página (limit).
+    // Filtros opcionais (vendedorId, minValue, maxValue, prefixo de name) e ordenação (sort=value, -value,
+    // name, -name) são aplicados no banco, que devolve apenas as linhas da página pedida
     @GetMapping
-    public ResponseEntity<CollectionModel<EntityModel<ProductModel>>> getAllProducts() {
+    public ResponseEntity<CollectionModel<EmbeddedWrapper>> getAllProducts(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) UUID vendedorId,
+            @RequestParam(required = false) BigDecimal minValue,
+            @RequestParam(required = false) BigDecimal maxValue,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String sort,
+            WebRequest webRequest) {
+
+        // Normaliza o tamanho da página e valida a ordenação pedida
+        int pageSize = KeysetPagination.normalizeLimit(limit);
+        ProductSort productSort = ProductSort.fromParam(sort);
+        ProductFilterDto filter = new ProductFilterDto(vendedorId, minValue, maxValue, name);
 
-        // Busca todos os produtos no banco
-        List<ProductModel> products = productRepository.findAll();
+        List<ProductResponseDto> rows;
+        if (filter.isEmpty() && productSort == ProductSort.ID) {
+            // Listagem sem filtros: decodifica o cursor (null = primeira página)
+            UUID afterId = KeysetPagination.decodeCursor(after);
+
+            // ETag da página a partir de um agregado (quantidade, versões, última alteração):
+            // se o cliente já tem esta versão, responde 304 sem carregar nem serializar os produtos.
+            // Sem Last-Modified: remover uma linha não aumenta a maior data das restantes, e um If-Modified-Since
+            // sozinho receberia 304 com a página antiga; só o ETag (que muda com a quantidade) decide
+            CollectionVersionDto version = productRepository.findPageVersion(afterId, pageSize + 1);
+            if (webRequest.checkNotModified(version.eTag(BinaryFormatsConfig.eTagSuffix(webRequest)))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+
+            // Busca somente a página pedida (+1 linha para saber se existe próxima), sem OFFSET,
+            // já projetada nos registros da resposta
+            rows = afterId == null
+                    ? productRepository.findFirstPage(KeysetPagination.probeLimit(pageSize))
+                    : productRepository.findPageAfter(afterId, KeysetPagination.probeLimit(pageSize));
+        } else {
+            // Listagem filtrada/ordenada: WHERE + ORDER BY (atributo, ID) + LIMIT montados via Specification
+            List<ProductModel> entities = productService.findPage(filter, productSort, after, pageSize);
+
+            // O ETag é calculado sobre as linhas carregadas: poupa a serialização e a transferência (sem Last-Modified,
+            // como acima)
+            CollectionVersionDto version = CollectionVersionDto.of(entities);
+            if (webRequest.checkNotModified(version.eTag(BinaryFormatsConfig.eTagSuffix(webRequest)))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+            rows = productMapper.toResponses(entities);
+        }
+        List<ProductResponseDto> products = KeysetPagination.trim(rows, pageSize);
+
+        // Resolve a URI base dos links uma única vez para toda a página
+        LinkTemplates.ResourceLinks links = linkTemplates.products();
 
         // Converte cada produto em um EntityModel com links HATEOAS
-        List<EntityModel<ProductModel>> productsWithLinks = products.stream().map(product ->
+        List<EntityModel<ProductResponseDto>> productsWithLinks = products.stream().map(product ->
                 EntityModel.of(product,
-                        linkTo(methodOn(ProductController.class).getOneProduct(product.getIdProduct())).withSelfRel(), // Link para o próprio recurso
-                        linkTo(methodOn(ProductController.class).getAllProducts()).withRel("products") // Link para lista de produtos
+                        links.self(product.idProduct()), // Link para o próprio recurso
+                        links.collection() // Link para lista de produtos
                 )
         ).collect(Collectors.toList());
 
+        // Filtros e ordenação são repetidos nos links para que a próxima página mantenha a mesma consulta
+        Map<String, Object> query = filter.toQueryParams();
+        if (productSort != ProductSort.ID) {
+            query.put("sort", productSort.param());
+        }
+
         // Retorna a coleção de produtos com um link para si mesma
-        return ResponseEntity.ok(
-                CollectionModel.of(productsWithLinks,
-                        linkTo(methodOn(ProductController.class).getAllProducts()).withSelfRel())
-        );
+        CollectionModel<EmbeddedWrapper> collection = HalCollections.of(productsWithLinks, links.page(after, limit, query));
+
+        // Se existir próxima página, adiciona o link "next" com o cursor do último item entregue
+        if (KeysetPagination.hasNext(rows, pageSize)) {
+            ProductResponseDto last = products.get(products.size() - 1);
+            String cursor = productSort == ProductSort.ID
+                    ? KeysetPagination.encodeCursor(last.idProduct())
+                    : KeysetPagination.encodeCursor(last.idProduct(), productSort.param(), productSort.cursorValue(last));
+            collection.add(links.next(cursor, pageSize, query));
+        }
+
+        return ResponseEntity.ok(collection);
+    }
+
+    // ======================= EXPORTAÇÃO DO CATÁLOGO =======================
+    // GET /products/export?format=ndjson|csv - catálogo inteiro escrito na resposta à medida que é lido do banco
+    // (sem montar a coleção em memória). Com Accept-Encoding: gzip a resposta sai compactada
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        ProductFileFormat exportFormat = ProductFileFormat.fromParam(format);
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        // Executado depois que o método retorna, em outra thread, com a transação aberta pelo serviço
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, EXPORT_GZIP_BUFFER);
+                productExportService.exportCatalog(exportFormat, compressed);
+                compressed.finish();
+            } else {
+                productExportService.exportCatalog(exportFormat, out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(exportFormat.fileName()).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    // Accept-Encoding aceita gzip: "gzip" (ou "x-gzip") com qualidade maior que zero; sem ele na lista, vale o
+    // "*". "gzip;q=0" recusa a compactação explicitamente
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].strip().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int p = 1; p < parts.length; p++) {
+                String parameter = parts[p].strip().toLowerCase(Locale.ROOT);
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = quality;
+            } else if (coding.equals("*")) {
+                any = quality;
+            }
+        }
+        Double quality = gzip != null ? gzip : any;
+        return quality != null && quality > 0;
+    }
+
+    // ======================= FEED DE ALTERAÇÕES =======================
+    // GET /products/changes - Server-Sent Events com cada produto ou vendedor criado, alterado ou removido
+    // (eventos "product" e "vendedor", id = sequência). ?since= (ou o cabeçalho Last-Event-ID, enviado pelo
+    // EventSource ao reconectar) reenvia o que veio depois dessa sequência; sem ele, só as próximas alterações
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter productChanges(
+            @RequestParam(required = false) Long since,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return changeFeedService.subscribe(since != null ? since : lastEventId);
+    }
+
+    // ======================= BUSCA POR NOME =======================
+    // GET - Busca textual no nome (sem acentos/maiúsculas, por prefixo e com vários termos), ordenada
+    // por relevância e respondida pelo índice em memória, sem consultar o banco
+    @GetMapping("/search")
+    public ResponseEntity<CollectionModel<EmbeddedWrapper>> searchProducts(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+
+        List<ProductSearchHitDto> hits = productSearchIndex.search(q, KeysetPagination.normalizeLimit(limit));
+
+        LinkTemplates.ResourceLinks links = linkTemplates.products();
+        List<EntityModel<ProductSearchHitDto>> hitsWithLinks = hits.stream()
+                .map(hit -> EntityModel.of(hit, links.self(hit.idProduct())))
+                .collect(Collectors.toList());
+
+        return ResponseEntity.ok(HalCollections.of(hitsWithLinks, links.collection()));
     }
 
     // ======================= READ ONE =======================
     // GET - Obter um único produto com HATEOAS
     @GetMapping("/{id}")
-    public ResponseEntity<EntityModel<ProductModel>> getOneProduct(@PathVariable UUID id) {
+    public ResponseEntity<EntityModel<ProductResponseDto>> getOneProduct(@PathVariable UUID id, WebRequest webRequest) {
 
-        // Busca o produto pelo ID
-        Optional<ProductModel> productOptional = productRepository.findById(id);
-        if (productOptional.isEmpty()) {
+        // Produto já projetado na resposta com o resumo do vendedor e a versão, em uma única consulta (ou do
+        // cache): o ETag sai do mesmo registro que o corpo. If-None-Match igual ao ETag atual → 304 sem serializar
+        Optional<ProductDetailDto> detailOptional = productRepository.findDetailByIdProduct(id);
+        if (detailOptional.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
-
-        ProductModel product = productOptional.get();
+        EntityVersionDto version = detailOptional.get().version();
+        if (webRequest.checkNotModified(version.eTag(BinaryFormatsConfig.eTagSuffix(webRequest)), version.lastModifiedMillis())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
 
         // Cria o EntityModel com os links HATEOAS
-        EntityModel<ProductModel> productModel = EntityModel.of(product,
-                linkTo(methodOn(ProductController.class).getOneProduct(id)).withSelfRel(),
-                linkTo(methodOn(ProductController.class).getAllProducts()).withRel("products")
-        );
+        LinkTemplates.ResourceLinks links = linkTemplates.products();
+        EntityModel<ProductResponseDto> productModel = EntityModel.of(detailOptional.get().product(), links.self(id), links.collection());
 
         return ResponseEntity.ok(productModel);
     }
 
     // ======================= UPDATE =======================
-    // PUT - Atualizar produto
+    // PUT - Atualizar produto com um único UPDATE (sem SELECT antes) e ler de volta para a resposta
     @PutMapping("/{id}")
-    public ResponseEntity<ProductModel> updateProduct(@PathVariable UUID id, @RequestBody @Valid ProductRecordDto productRecordDto) {
+    public ResponseEntity<ProductResponseDto> updateProduct(@PathVariable UUID id, @RequestBody @Valid ProductRecordDto productRecordDto,
+                                                            WebRequest webRequest) {
 
-        // Busca o produto no banco
-        Optional<ProductModel> productOptional = productRepository.findById(id);
-        if (productOptional.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
-        }
+        // If-Match: a versão esperada entra no WHERE do UPDATE (null = sem condição de versão)
+        EntityVersionDto expected = EntityVersionDto.fromIfMatch(webRequest.getHeader(HttpHeaders.IF_MATCH));
 
-        // Busca o vendedor associado
-        Optional<VendedorModel> vendedorOptional = vendedorRepository.findById(productRecordDto.vendedorId());
-        if (vendedorOptional.isEmpty()) {
+        int updated;
+        try {
+            updated = productService.updateProduct(id, productRecordDto, expected);
+        } catch (DataIntegrityViolationException e) {
+            // A chave estrangeira recusou o vendedor informado: vendedor não encontrado
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
+        if (updated == 0) {
+            return notChanged(id, expected);
+        }
 
-        // Atualiza os dados do produto
-        ProductModel productModel = productOptional.get();
-        BeanUtils.copyProperties(productRecordDto, productModel);
-        productModel.setIdProduct(id);
-        productModel.setVendedor(vendedorOptional.get());
-
-        return ResponseEntity.ok(productRepository.save(productModel));
+        // Produto atualizado já com o vendedor (uma consulta), para o corpo e o novo ETag
+        ProductModel saved = productRepository.findWithVendedorByIdProduct(id).orElseThrow();
+        return ResponseEntity.ok().eTag(EntityVersionDto.of(saved).eTag(BinaryFormatsConfig.eTagSuffix(webRequest))).body(productMapper.toResponse(saved));
     }
 
     // ======================= DELETE =======================
-    // DELETE - Remover produto
+    // DELETE - Remover produto com um único DELETE
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteProduct(@PathVariable UUID id) {
+    public ResponseEntity<Void> deleteProduct(@PathVariable UUID id, WebRequest webRequest) {
 
-        Optional<ProductModel> productOptional = productRepository.findById(id);
-        if (productOptional.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        EntityVersionDto expected = EntityVersionDto.fromIfMatch(webRequest.getHeader(HttpHeaders.IF_MATCH));
+        if (productService.deleteProduct(id, expected) == 0) {
+            return notChanged(id, expected);
         }
-
-        productRepository.delete(productOptional.get());
         return ResponseEntity.noContent().build();
     }
+
+    // Nenhuma linha afetada: com If-Match, 412 se o produto existe (versão diferente); senão 404
+    private <T> ResponseEntity<T> notChanged(UUID id, EntityVersionDto expected) {
+        if (expected != null && productRepository.existsById(id)) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    }
 }
 /*
 	•	DTO (ProductRecordDto): transporta os dados da requisição e agora inclui o vendedorId.
 	•	Validação: uso de @Valid para garantir que os dados recebidos sejam válidos.
-	•	BeanUtils.copyProperties: facilita a cópia dos atributos do DTO para o Model.
+	•	ProductMapper (MapStruct): conversões DTO ↔ entidade geradas na compilação, sem reflexão; campo não mapeado é erro de compilação.
 	•	Optional: evita NullPointerException e permite verificar se o recurso existe.
 	•	HATEOAS: adicionado para fornecer links navegáveis na resposta, seguindo princípios de RESTful APIs.
+	•	Respostas: ProductResponseDto (registro imutável) com um resumo do vendedor (ID e nome); as leituras vêm de projeções JPQL e a entidade nunca é serializada.
+	•	Operações em lote: POST/PUT/DELETE /products/batch processam arrays em uma transação, com lotes JDBC e resultado por item.
+	•	Paginação por cursor: GET /products?after=&limit= usa o último ID como cursor opaco (sem OFFSET) e expõe o link "next".
+	•	Busca textual: GET /products/search?q= responde pelo índice invertido em memória, atualizado por eventos após cada escrita.
+	•	Filtros e ordenação: vendedorId, minValue/maxValue, prefixo de name e sort viram WHERE/ORDER BY via Specification, apoiados em índices.
+	•	PUT/DELETE unitários: um único UPDATE/DELETE (If-Match no WHERE) e o número de linhas afetadas decide entre 404 e 412.
+	•	GET /products/changes: feed SSE de alterações de produtos e vendedores, com retomada por ?since= / Last-Event-ID.
+	•	GET /products/export?format=ndjson|csv: catálogo inteiro em streaming (StreamingResponseBody), com gzip opcional.
+	•	POST /products/import: arquivo CSV/NDJSON lido linha a linha, validado e gravado em blocos transacionais, com relatório.
+	•	Requisições condicionais: ETag/Last-Modified nas leituras (304 se não mudou) e If-Match no PUT/DELETE (412 se desatualizado).
 	•	ResponseEntity: usado para controlar o status HTTP e o corpo da resposta.
  */
\ No newline at end of file
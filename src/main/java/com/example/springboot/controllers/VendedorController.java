@@ -1,24 +1,41 @@
 package com.example.springboot.controllers;
 
+import com.example.springboot.config.BinaryFormatsConfig; // Sufixo do ETag conforme o formato negociado (JSON/CBOR/Smile)
+import com.example.springboot.dtos.CollectionVersionDto; // Agregado de versões de uma página (ETag da listagem)
+import com.example.springboot.dtos.EntityVersionDto; // Versão de um vendedor (ETag / Last-Modified)
+import com.example.springboot.dtos.ProductResponseDto; // Produto resumido, usado na listagem de produtos do vendedor
+import com.example.springboot.dtos.VendedorDeletionStatusDto; // Situação de uma remoção assíncrona
+import com.example.springboot.dtos.VendedorDetailDto; // Vendedor exibido junto com a versão da mesma leitura
 import com.example.springboot.dtos.VendedorRecordDto; // DTO usado para receber dados da requisição
+import com.example.springboot.dtos.VendedorResponseDto; // Corpo das respostas de escrita
+import com.example.springboot.dtos.VendedorStatsDto; // Quantidade e valores dos produtos de um vendedor
+import com.example.springboot.links.HalCollections; // Coleção HAL montada sem cópias por item
+import com.example.springboot.links.LinkTemplates; // Moldes de links HATEOAS resolvidos uma vez por requisição
+import com.example.springboot.mappers.VendedorMapper; // Conversões DTO ↔ entidade geradas pelo MapStruct
 import com.example.springboot.models.VendedorModel;   // Entidade do vendedor
+import com.example.springboot.pagination.KeysetPagination; // Paginação por cursor (keyset)
+import com.example.springboot.repositories.ProductRepository; // Produtos do vendedor, por consulta paginada
 import com.example.springboot.repositories.VendedorRepository; // Interface para operações no banco
+import com.example.springboot.services.VendedorService; // Atualização e remoção de vendedores
+import com.example.springboot.services.VendedorStatsService; // Resumo dos produtos por vendedor
 
 import jakarta.validation.Valid; // Anotação para validar os dados recebidos
 
-import org.springframework.beans.BeanUtils; // Utilitário para copiar propriedades de objetos
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.CollectionModel; // Representa coleção com links HATEOAS
 import org.springframework.hateoas.EntityModel;   // Representa recurso único com links HATEOAS
+import org.springframework.hateoas.server.core.EmbeddedWrapper; // Página inteira embrulhada de uma vez
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest; // Acesso aos cabeçalhos condicionais (If-None-Match, If-Match)
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder; // Monta a URL da situação da remoção
 
+import java.net.URI;
 import java.util.*;
 import java.util.stream.Collectors;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*; // Métodos para criar links HATEOAS
-
 @RestController
 @RequestMapping("/vendedores") // Define o endpoint base
 public class VendedorController {
@@ -26,105 +43,273 @@ public class VendedorController {
     @Autowired
     private VendedorRepository vendedorRepository; // Injeção de dependência do repositório
 
+    @Autowired
+    private ProductRepository productRepository; // Listagem paginada dos produtos de um vendedor
+
+    @Autowired
+    private LinkTemplates linkTemplates; // Monta os links HATEOAS por substituição de texto
+
+    @Autowired
+    private VendedorService vendedorService; // Escritas com UPDATE/DELETE diretos (sem SELECT antes)
+
+    @Autowired
+    private VendedorMapper vendedorMapper; // Mapper gerado em tempo de compilação (sem reflexão)
+
+    @Autowired
+    private VendedorStatsService vendedorStatsService; // Agregados ou tabela materializada, conforme configuração
+
     // -------------------- POST: Criar novo vendedor --------------------
     @PostMapping
-    public ResponseEntity<VendedorModel> saveVendedor(@RequestBody @Valid VendedorRecordDto vendedorRecordDto) {
-        // Cria nova instância da entidade
-        VendedorModel vendedorModel = new VendedorModel();
-        // Copia dados do DTO para a entidade
-        BeanUtils.copyProperties(vendedorRecordDto, vendedorModel);
-        // Retorna status 201 com o objeto salvo no banco
-        return ResponseEntity.status(HttpStatus.CREATED).body(vendedorRepository.save(vendedorModel));
+    public ResponseEntity<VendedorResponseDto> saveVendedor(@RequestBody @Valid VendedorRecordDto vendedorRecordDto) {
+        // Cria a entidade a partir do DTO com o mapper gerado
+        VendedorModel vendedorModel = vendedorMapper.toEntity(vendedorRecordDto);
+        // Retorna status 201 com o vendedor salvo no banco (e sua linha de resumo, quando materializado)
+        return ResponseEntity.status(HttpStatus.CREATED).body(vendedorMapper.toResponse(vendedorService.createVendedor(vendedorModel)));
     }
 
-    // -------------------- GET: Buscar todos os vendedores (com HATEOAS) --------------------
+    // -------------------- GET: Buscar vendedores paginados por cursor (com HATEOAS) --------------------
     @GetMapping
-    public ResponseEntity<CollectionModel<EntityModel<VendedorModel>>> getAllVendedores() {
-        // Busca todos no banco
-        List<VendedorModel> vendedores = vendedorRepository.findAll();
+    public ResponseEntity<CollectionModel<EmbeddedWrapper>> getAllVendedores(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+        // Normaliza o tamanho da página e decodifica o cursor (null = primeira página)
+        int pageSize = KeysetPagination.normalizeLimit(limit);
+        UUID afterId = KeysetPagination.decodeCursor(after);
+
+        // ETag da página via agregado; 304 se o cliente já tem esta versão. Sem Last-Modified: a maior data das
+        // linhas restantes não muda quando uma é removida, então só o ETag decide
+        CollectionVersionDto version = vendedorRepository.findPageVersion(afterId, pageSize + 1);
+        if (webRequest.checkNotModified(version.eTag(BinaryFormatsConfig.eTagSuffix(webRequest)))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+
+        // Busca somente a página pedida (+1 linha para saber se existe próxima), sem OFFSET, já como registros
+        List<VendedorResponseDto> rows = afterId == null
+                ? vendedorRepository.findFirstPage(KeysetPagination.probeLimit(pageSize))
+                : vendedorRepository.findPageAfter(afterId, KeysetPagination.probeLimit(pageSize));
+        List<VendedorResponseDto> vendedores = KeysetPagination.trim(rows, pageSize);
+
+        // Resolve a URI base dos links uma única vez para toda a página
+        LinkTemplates.ResourceLinks links = linkTemplates.vendedores();
 
         // Adiciona links HATEOAS a cada vendedor
-        List<EntityModel<VendedorModel>> vendedoresComLinks = vendedores.stream().map(vendedor ->
+        List<EntityModel<VendedorResponseDto>> vendedoresComLinks = vendedores.stream().map(vendedor ->
                 EntityModel.of(vendedor,
                         // Link para ele mesmo
-                        linkTo(methodOn(VendedorController.class).getOneVendedor(vendedor.getIdVendedor())).withSelfRel(),
+                        links.self(vendedor.idVendedor()),
                         // Link para a lista de todos
-                        linkTo(methodOn(VendedorController.class).getAllVendedores()).withRel("vendedores")
+                        links.collection()
                 )
         ).collect(Collectors.toList());
 
-        // Retorna coleção com link para si mesma
-        return ResponseEntity.ok(
-                CollectionModel.of(vendedoresComLinks,
-                        linkTo(methodOn(VendedorController.class).getAllVendedores()).withSelfRel())
-        );
+        // Coleção com link para si mesma
+        CollectionModel<EmbeddedWrapper> collection = HalCollections.of(vendedoresComLinks, links.page(after, limit));
+
+        // Link "next" com o cursor do último vendedor entregue, quando houver mais páginas
+        if (KeysetPagination.hasNext(rows, pageSize)) {
+            UUID lastId = vendedores.get(vendedores.size() - 1).idVendedor();
+            collection.add(links.next(KeysetPagination.encodeCursor(lastId), pageSize));
+        }
+
+        return ResponseEntity.ok(collection);
     }
 
     // -------------------- GET: Buscar vendedor específico (com HATEOAS) --------------------
     @GetMapping("/{id}")
-    public ResponseEntity<EntityModel<VendedorModel>> getOneVendedor(@PathVariable UUID id) {
-        // Busca por ID
-        Optional<VendedorModel> vendedorOptional = vendedorRepository.findById(id);
-        if (vendedorOptional.isEmpty()) {
+    public ResponseEntity<EntityModel<VendedorResponseDto>> getOneVendedor(@PathVariable UUID id, WebRequest webRequest) {
+        // Vendedor já projetado na resposta, com a versão lida na mesma consulta (atendida pelo cache quando
+        // habilitado): ETag e corpo vêm do mesmo registro. If-None-Match igual ao ETag atual → 304 sem serializar
+        Optional<VendedorDetailDto> detailOptional = vendedorRepository.findDetailByIdVendedor(id);
+        if (detailOptional.isEmpty()) {
             // Retorna 404 se não encontrar
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
+        EntityVersionDto version = detailOptional.get().version();
+        if (webRequest.checkNotModified(version.eTag(BinaryFormatsConfig.eTagSuffix(webRequest)), version.lastModifiedMillis())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
 
-        VendedorModel vendedor = vendedorOptional.get();
         // Adiciona links para o vendedor atual e para a lista geral
-        EntityModel<VendedorModel> vendedorModel = EntityModel.of(vendedor,
-                linkTo(methodOn(VendedorController.class).getOneVendedor(id)).withSelfRel(),
-                linkTo(methodOn(VendedorController.class).getAllVendedores()).withRel("vendedores")
-        );
+        LinkTemplates.ResourceLinks links = linkTemplates.vendedores();
+        EntityModel<VendedorResponseDto> vendedorModel = EntityModel.of(detailOptional.get().vendedor(), links.self(id), links.collection(),
+                // Produtos do vendedor, paginados (a coleção produtos da entidade nunca é exposta)
+                links.item(id, "products").withRel("products"));
 
         return ResponseEntity.ok(vendedorModel);
     }
 
-    // -------------------- PUT: Atualizar vendedor --------------------
-    @PutMapping("/{id}")
-    public ResponseEntity<VendedorModel> updateVendedor(@PathVariable UUID id, @RequestBody @Valid VendedorRecordDto vendedorRecordDto) {
-        // Busca vendedor existente
-        Optional<VendedorModel> vendedorOptional = vendedorRepository.findById(id);
-        if (vendedorOptional.isEmpty()) {
+    // -------------------- GET: Produtos de um vendedor, paginados por cursor (com HATEOAS) --------------------
+    // Consulta indexada por vendedor_id em TB_PRODUCTS; VendedorModel.produtos nunca é inicializada
+    @GetMapping("/{id}/products")
+    public ResponseEntity<CollectionModel<EmbeddedWrapper>> getVendedorProducts(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        int pageSize = KeysetPagination.normalizeLimit(limit);
+        UUID afterId = KeysetPagination.decodeCursor(after);
+
+        // Página pedida (+1 linha para saber se existe próxima), já como registros de resposta
+        List<ProductResponseDto> rows = afterId == null
+                ? productRepository.findFirstPageOfVendedor(id, KeysetPagination.probeLimit(pageSize))
+                : productRepository.findPageOfVendedorAfter(id, afterId, KeysetPagination.probeLimit(pageSize));
+
+        // Página vazia: só então é preciso saber se o vendedor existe (404) ou apenas não tem (mais) produtos
+        if (rows.isEmpty() && !vendedorRepository.existsById(id)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        List<ProductResponseDto> products = KeysetPagination.trim(rows, pageSize);
+
+        // Itens apontam para /products/{id}; a navegação da página fica em /vendedores/{id}/products
+        LinkTemplates.ResourceLinks productLinks = linkTemplates.products();
+        LinkTemplates.ResourceLinks pageLinks = linkTemplates.vendedorProducts(id);
+
+        List<EntityModel<ProductResponseDto>> productsComLinks = products.stream().map(product ->
+                EntityModel.of(product,
+                        productLinks.self(product.idProduct()),
+                        productLinks.collection()
+                )
+        ).collect(Collectors.toList());
+
+        // Coleção com link para si mesma e para o vendedor
+        CollectionModel<EmbeddedWrapper> collection = HalCollections.of(productsComLinks,
+                pageLinks.page(after, limit), linkTemplates.vendedores().self(id).withRel("vendedor"));
+
+        // Link "next" com o cursor do último produto entregue, quando houver mais páginas
+        if (KeysetPagination.hasNext(rows, pageSize)) {
+            UUID lastId = products.get(products.size() - 1).idProduct();
+            collection.add(pageLinks.next(KeysetPagination.encodeCursor(lastId), pageSize));
+        }
+        return ResponseEntity.ok(collection);
+    }
+
+    // -------------------- GET: Resumo dos produtos de todos os vendedores, paginado por cursor --------------------
+    @GetMapping("/stats")
+    public ResponseEntity<CollectionModel<EmbeddedWrapper>> getAllVendedorStats(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        int pageSize = KeysetPagination.normalizeLimit(limit);
+        UUID afterId = KeysetPagination.decodeCursor(after);
+
+        // Quantidade/soma calculadas no banco (GROUP BY ou tabela materializada); nenhum produto é carregado
+        List<VendedorStatsDto> rows = vendedorStatsService.findPage(afterId, KeysetPagination.probeLimit(pageSize));
+        List<VendedorStatsDto> page = KeysetPagination.trim(rows, pageSize);
+
+        LinkTemplates.ResourceLinks vendedorLinks = linkTemplates.vendedores();
+        LinkTemplates.ResourceLinks statsLinks = linkTemplates.vendedorStats();
+
+        // Cada resumo aponta para si mesmo e para o vendedor
+        List<EntityModel<VendedorStatsDto>> statsComLinks = page.stream().map(stats ->
+                EntityModel.of(stats,
+                        vendedorLinks.item(stats.idVendedor(), "stats"),
+                        vendedorLinks.self(stats.idVendedor()).withRel("vendedor")
+                )
+        ).collect(Collectors.toList());
+
+        CollectionModel<EmbeddedWrapper> collection = HalCollections.of(statsComLinks, statsLinks.page(after, limit));
+        if (KeysetPagination.hasNext(rows, pageSize)) {
+            UUID lastId = page.get(page.size() - 1).idVendedor();
+            collection.add(statsLinks.next(KeysetPagination.encodeCursor(lastId), pageSize));
+        }
+        return ResponseEntity.ok(collection);
+    }
+
+    // -------------------- GET: Resumo dos produtos de um vendedor --------------------
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<EntityModel<VendedorStatsDto>> getVendedorStats(@PathVariable UUID id) {
+        // Vendedor inexistente → 404; vendedor sem produtos → quantidade 0, soma 0 e média null
+        Optional<VendedorStatsDto> stats = vendedorStatsService.findStats(id);
+        if (stats.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
+        LinkTemplates.ResourceLinks links = linkTemplates.vendedores();
+        return ResponseEntity.ok(EntityModel.of(stats.get(), links.item(id, "stats"), links.self(id).withRel("vendedor")));
+    }
 
-        // Copia novas propriedades mantendo o ID
-        VendedorModel vendedorModel = vendedorOptional.get();
-        BeanUtils.copyProperties(vendedorRecordDto, vendedorModel);
-        vendedorModel.setIdVendedor(id);
+    // -------------------- PUT: Atualizar vendedor --------------------
+    @PutMapping("/{id}")
+    public ResponseEntity<VendedorResponseDto> updateVendedor(@PathVariable UUID id, @RequestBody @Valid VendedorRecordDto vendedorRecordDto,
+                                                              WebRequest webRequest) {
+        // If-Match: a versão esperada entra no WHERE do UPDATE (null = sem condição de versão)
+        EntityVersionDto expected = EntityVersionDto.fromIfMatch(webRequest.getHeader(HttpHeaders.IF_MATCH));
 
-        return ResponseEntity.ok(vendedorRepository.save(vendedorModel));
+        // Um único UPDATE, sem buscar o vendedor antes
+        if (vendedorService.updateVendedor(id, vendedorRecordDto, expected) == 0) {
+            return notChanged(id, expected);
+        }
+
+        // Vendedor atualizado, para o corpo da resposta e o novo ETag
+        VendedorModel saved = vendedorRepository.findById(id).orElseThrow();
+        return ResponseEntity.ok().eTag(EntityVersionDto.of(saved).eTag(BinaryFormatsConfig.eTagSuffix(webRequest))).body(vendedorMapper.toResponse(saved));
     }
 
     // -------------------- DELETE: Deletar vendedor --------------------
+    // Com async=true a remoção roda em segundo plano: 202 Accepted e Location apontando para a situação da remoção
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteVendedor(@PathVariable UUID id) {
-        Optional<VendedorModel> vendedorOptional = vendedorRepository.findById(id);
-        if (vendedorOptional.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    public ResponseEntity<VendedorDeletionStatusDto> deleteVendedor(@PathVariable UUID id,
+                                                                    @RequestParam(defaultValue = "false") boolean async,
+                                                                    WebRequest webRequest) {
+        EntityVersionDto expected = EntityVersionDto.fromIfMatch(webRequest.getHeader(HttpHeaders.IF_MATCH));
+
+        if (async) {
+            Optional<VendedorDeletionStatusDto> started = vendedorService.startDeletion(id, expected);
+            if (started.isEmpty()) {
+                return notChanged(id, expected);
+            }
+            URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                    .path("/vendedores/deletions/{jobId}").buildAndExpand(started.get().jobId()).toUri();
+            return ResponseEntity.accepted().location(location).body(started.get());
         }
 
-        vendedorRepository.delete(vendedorOptional.get());
+        // Remove os produtos em lotes de DELETEs diretos (sem carregar a lista de produtos) e depois o vendedor
+        if (vendedorService.deleteVendedor(id, expected) == 0) {
+            return notChanged(id, expected);
+        }
         return ResponseEntity.noContent().build();
     }
+
+    // -------------------- GET: Situação de uma remoção assíncrona --------------------
+    @GetMapping("/deletions/{jobId}")
+    public ResponseEntity<VendedorDeletionStatusDto> getDeletion(@PathVariable UUID jobId) {
+        return vendedorService.findDeletion(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    // Nenhuma linha afetada: com If-Match, 412 se o vendedor existe (versão diferente); senão 404
+    private <T> ResponseEntity<T> notChanged(UUID id, EntityVersionDto expected) {
+        if (expected != null && vendedorRepository.existsById(id)) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    }
 }
 
 /*
 	1.	Finalidade da classe: Controlar todas as operações CRUD de vendedores, implementando boas práticas REST e HATEOAS.
 	2.	Endpoints implementados:
 	•	POST /vendedores → Criação de vendedor.
-	•	GET /vendedores → Lista todos os vendedores com links.
+	•	GET /vendedores?after=&limit= → Lista vendedores paginados por cursor, com links (self, next).
 	•	GET /vendedores/{id} → Retorna um vendedor específico com links.
+	•	GET /vendedores/{id}/products?after=&limit= → Produtos do vendedor paginados por cursor (consulta indexada, sem a coleção produtos).
+	•	GET /vendedores/{id}/stats → Quantidade de produtos, soma e média dos valores do vendedor.
+	•	GET /vendedores/stats?after=&limit= → O mesmo resumo para todos os vendedores, paginado por cursor.
 	•	PUT /vendedores/{id} → Atualiza dados de um vendedor.
-	•	DELETE /vendedores/{id} → Remove um vendedor.
+	•	DELETE /vendedores/{id} → Remove um vendedor (produtos em lotes; ?async=true responde 202 e remove em segundo plano).
+	•	GET /vendedores/deletions/{jobId} → Situação de uma remoção assíncrona.
 	3.	HATEOAS:
 	•	Links de navegação para facilitar consumo por APIs REST.
 	•	Em cada recurso, há link para si mesmo (self) e para a lista de vendedores.
-	4.	Validação:
+	4.	Requisições condicionais:
+	•	GET responde com ETag/Last-Modified e 304 Not Modified quando o cliente já tem a versão atual.
+	•	PUT/DELETE com If-Match desatualizado retornam 412 Precondition Failed.
+	•	PUT/DELETE usam um único UPDATE/DELETE com a versão no WHERE; o número de linhas afetadas decide entre 404 e 412.
+	5.	Validação:
 	•	Usa @Valid para garantir integridade dos dados de entrada.
-	5.	Injeção de dependência:
+	6.	Injeção de dependência:
 	•	@Autowired para acessar VendedorRepository sem precisar instanciar manualmente.
-	6.	BeanUtils:
-	•	Facilita a cópia de dados do DTO para a entidade, evitando código repetitivo.
+	7.	VendedorMapper (MapStruct):
+	•	Copia os dados do DTO para a entidade (e da entidade para a resposta) com código gerado na compilação, sem reflexão.
+	8.	Respostas:
+	•	Registros imutáveis (VendedorResponseDto); as leituras usam projeções e nunca serializam a entidade.
  */
\ No newline at end of file
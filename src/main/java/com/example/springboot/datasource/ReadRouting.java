@@ -0,0 +1,45 @@
+package com.example.springboot.datasource;
+
+// Estado do roteamento leitura/escrita da requisição atual (ver ReadYourWritesFilter e ReplicaRoutingDataSource).
+// Requisições de escrita e as leituras de um cliente que escreveu há pouco ficam presas ao primário; as demais
+// leituras usam uma única réplica do começo ao fim da requisição, para que o ETag e o corpo venham do mesmo
+// banco. Fora de uma requisição (inicialização, tarefas em segundo plano) só o readOnly da transação decide.
+public final class ReadRouting {
+
+    private static final ThreadLocal<ReadRouting> CURRENT = new ThreadLocal<>();
+
+    private final boolean primaryOnly;
+
+    // Índice da réplica escolhida na primeira leitura da requisição (-1 = ainda nenhuma)
+    private int replica = -1;
+
+    private ReadRouting(boolean primaryOnly) {
+        this.primaryOnly = primaryOnly;
+    }
+
+    // Começa o roteamento da requisição na thread atual
+    static void begin(boolean primaryOnly) {
+        CURRENT.set(new ReadRouting(primaryOnly));
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    // Estado da requisição atual (null fora de uma requisição)
+    static ReadRouting current() {
+        return CURRENT.get();
+    }
+
+    boolean primaryOnly() {
+        return primaryOnly;
+    }
+
+    int replica() {
+        return replica;
+    }
+
+    void replica(int replica) {
+        this.replica = replica;
+    }
+}
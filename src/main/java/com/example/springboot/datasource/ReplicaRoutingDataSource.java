@@ -0,0 +1,95 @@
+package com.example.springboot.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Envia as leituras para uma das réplicas e as escritas para o primário:
+//  - transações somente leitura (@Transactional(readOnly = true), findById/findAll dos repositórios) vão à réplica;
+//  - numa requisição de leitura (GET) que não está presa ao primário, também os comandos sem transação, como as
+//    consultas @Query dos repositórios, que o Spring Data não envolve em transação;
+//  - transações de escrita, requisições de escrita e, fora de uma requisição, tudo o que não é readOnly vão ao primário.
+// A decisão é tomada quando a conexão é obtida, por isso este DataSource fica atrás de um
+// LazyConnectionDataSourceProxy: a conexão física só é pedida no primeiro comando, quando o readOnly da transação
+// já é conhecido (ver DataSourceRoutingConfig).
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private static final String PRIMARY = "primary";
+
+    private final List<HikariDataSource> replicas;
+
+    private final ReplicaSelection selection;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, ReplicaSelection selection) {
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        ReadRouting routing = ReadRouting.current();
+        if (routing == null) {
+            return readOnly ? select() : PRIMARY;
+        }
+        boolean writeTransaction = TransactionSynchronizationManager.isActualTransactionActive() && !readOnly;
+        if (routing.primaryOnly() || writeTransaction) {
+            return PRIMARY;
+        }
+        // A mesma réplica em todas as leituras da requisição
+        if (routing.replica() < 0) {
+            routing.replica(select());
+        }
+        return routing.replica();
+    }
+
+    private int select() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        if (selection == ReplicaSelection.ROUND_ROBIN) {
+            return start;
+        }
+        // Menos carregada; em empate fica a da vez no rodízio, para não concentrar tudo na primeira
+        int best = start;
+        int bestLoad = Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.size(); i++) {
+            int candidate = (start + i) % replicas.size();
+            int load = load(replicas.get(candidate));
+            if (load < bestLoad) {
+                best = candidate;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
+    // Conexões em uso e requisições esperando por uma (0 enquanto o pool ainda não abriu nenhuma conexão)
+    private static int load(HikariDataSource replica) {
+        HikariPoolMXBean pool = replica.getHikariPoolMXBean();
+        return pool == null ? 0 : pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+    }
+
+    // Os pools das réplicas não são beans: são fechados junto com este DataSource
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+    }
+}
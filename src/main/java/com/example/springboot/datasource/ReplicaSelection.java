@@ -0,0 +1,11 @@
+package com.example.springboot.datasource;
+
+// Como a próxima réplica é escolhida (loja.datasource.replica-selection)
+public enum ReplicaSelection {
+
+    // Uma de cada vez, em ordem
+    ROUND_ROBIN,
+
+    // A com menos conexões em uso (e requisições esperando por uma) no pool, segundo o HikariCP
+    LEAST_LOADED
+}
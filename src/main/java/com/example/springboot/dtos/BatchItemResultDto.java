@@ -0,0 +1,12 @@
+package com.example.springboot.dtos;
+
+import java.util.UUID;
+
+public record BatchItemResultDto( // Resultado de um item de uma operação em lote
+
+        int index,      // Posição do item no array recebido
+        UUID id,        // ID do produto afetado (null quando não foi possível identificá-lo)
+        int status,     // Código HTTP equivalente ao da operação individual (201, 200, 204, 400, 404)
+        String message  // Motivo da falha; null em caso de sucesso
+
+) {}
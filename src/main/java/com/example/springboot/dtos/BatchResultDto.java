@@ -0,0 +1,19 @@
+package com.example.springboot.dtos;
+
+import java.util.List;
+
+public record BatchResultDto( // Relatório de uma operação em lote com o resultado de cada item
+
+        int total,      // Quantidade de itens recebidos
+        int succeeded,  // Itens processados com sucesso
+        int failed,     // Itens rejeitados (validação, vendedor ou produto inexistente)
+        List<BatchItemResultDto> items
+
+) {
+
+    // Monta o relatório contando sucessos (2xx) e falhas a partir dos resultados individuais
+    public static BatchResultDto of(List<BatchItemResultDto> items) {
+        int succeeded = (int) items.stream().filter(item -> item.status() < 300).count();
+        return new BatchResultDto(items.size(), succeeded, items.size() - succeeded, items);
+    }
+}
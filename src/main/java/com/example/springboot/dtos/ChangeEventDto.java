@@ -0,0 +1,18 @@
+package com.example.springboot.dtos;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record ChangeEventDto( // Dados de um evento de GET /products/changes (uma linha de TB_CHANGE_LOG)
+
+        long sequence,      // Cursor do evento (também enviado como "id" do SSE)
+        String type,        // "product" ou "vendedor" (também o nome do evento SSE)
+        UUID id,            // ID do registro alterado
+        boolean deleted,    // true quando o registro foi removido
+        Instant changedAt   // Momento da alteração
+
+) {
+
+    public static final String PRODUCT = "product";
+    public static final String VENDEDOR = "vendedor";
+}
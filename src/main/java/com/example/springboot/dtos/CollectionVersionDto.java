@@ -0,0 +1,49 @@
+package com.example.springboot.dtos;
+
+import com.example.springboot.models.ProductModel;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+public record CollectionVersionDto( // Agregado (quantidade, soma das versões, última alteração) de uma página da listagem
+
+        Long count,            // Quantidade de linhas da página (incluindo a linha extra que indica a próxima página)
+        Long versionSum,       // Soma das versões: muda a cada alteração de qualquer linha
+        String lastId,         // Maior ID da página: muda quando linhas entram ou saem do intervalo
+        Instant lastModified   // Última alteração entre as linhas da página (só compõe o ETag; não vira Last-Modified,
+                               // porque não aumenta quando uma linha é removida)
+
+) {
+
+    // Mesmo agregado calculado sobre linhas já carregadas (listagem filtrada, em que a página
+    // não corresponde a uma única janela de IDs)
+    public static CollectionVersionDto of(List<ProductModel> rows) {
+        long versionSum = 0;
+        for (ProductModel product : rows) {
+            versionSum += product.getVersion() + product.getVendedor().getVersion();
+        }
+        String lastId = rows.stream().map(product -> product.getIdProduct().toString()).max(Comparator.naturalOrder()).orElse(null);
+        Instant lastModified = rows.stream()
+                .flatMap(product -> Stream.of(product.getUpdatedAt(), product.getVendedor().getUpdatedAt()))
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        return new CollectionVersionDto((long) rows.size(), versionSum, lastId, lastModified);
+    }
+
+    // ETag da página, calculado sem carregar nem serializar as entidades, com o sufixo do formato. É fraco: o
+    // Tomcat só comprime (server.compression) respostas sem ETag forte, e a versão gzip tem os mesmos dados com
+    // outros bytes. Só é comparado no If-None-Match, em que a comparação fraca é a da especificação
+    public String eTag(String formatSuffix) {
+        return "W/\"" + count + "-" + (versionSum == null ? 0 : versionSum) + "-" + lastId + "-" + lastModifiedMillis()
+                + formatSuffix + "\"";
+    }
+
+    // Última alteração em milissegundos, para o ETag (-1 quando a página está vazia)
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.toEpochMilli();
+    }
+}
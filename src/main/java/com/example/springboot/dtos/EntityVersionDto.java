@@ -0,0 +1,78 @@
+package com.example.springboot.dtos;
+
+import com.example.springboot.models.ProductModel;
+import com.example.springboot.models.VendedorModel;
+
+import java.time.Instant;
+import java.util.regex.Pattern;
+
+public record EntityVersionDto( // Versão de um único recurso, consultada sem carregar a entidade inteira
+
+        Long version,          // Versão do registro (@Version)
+        Long vendedorVersion,  // Versão do vendedor embutido na resposta (null para o próprio vendedor)
+        Instant lastModified   // Última alteração do recurso ou do vendedor embutido
+
+) {
+
+    // Versão que nunca coincide com a de um registro: usada quando o If-Match não é um ETag deste serviço
+    public static final EntityVersionDto NO_MATCH = new EntityVersionDto(-1L, -1L, null);
+
+    // Sufixo do formato binário em que o ETag foi entregue (ver BinaryFormatsConfig.eTagSuffix)
+    private static final Pattern FORMAT_SUFFIX = Pattern.compile("\\+(cbor|smile)$");
+
+    // Versão de um vendedor (não há outro recurso embutido)
+    public EntityVersionDto(Long version, Instant lastModified) {
+        this(version, null, lastModified);
+    }
+
+    // Versão de um produto já carregado (o vendedor faz parte da representação)
+    public static EntityVersionDto of(ProductModel product) {
+        VendedorModel vendedor = product.getVendedor();
+        Instant lastModified = product.getUpdatedAt();
+        if (vendedor.getUpdatedAt() != null && (lastModified == null || vendedor.getUpdatedAt().isAfter(lastModified))) {
+            lastModified = vendedor.getUpdatedAt();
+        }
+        return new EntityVersionDto(product.getVersion(), vendedor.getVersion(), lastModified);
+    }
+
+    // Versão de um vendedor já carregado
+    public static EntityVersionDto of(VendedorModel vendedor) {
+        return new EntityVersionDto(vendedor.getVersion(), vendedor.getUpdatedAt());
+    }
+
+    // Versão exigida pelo cabeçalho If-Match ("3" ou "3.1", com ou sem o sufixo do formato: a versão é a mesma
+    // em todos); null quando o cabeçalho não foi enviado ou é "*" (basta o registro existir)
+    public static EntityVersionDto fromIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.length() < 3 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            return NO_MATCH; // ETag fraco (W/...), lista de ETags ou formato desconhecido
+        }
+        String tag = FORMAT_SUFFIX.matcher(value.substring(1, value.length() - 1)).replaceFirst("");
+        String[] parts = tag.split("\\.");
+        try {
+            return switch (parts.length) {
+                case 1 -> new EntityVersionDto(Long.parseLong(parts[0]), null);
+                case 2 -> new EntityVersionDto(Long.parseLong(parts[0]), Long.parseLong(parts[1]), null);
+                default -> NO_MATCH;
+            };
+        } catch (NumberFormatException e) {
+            return NO_MATCH;
+        }
+    }
+
+    // ETag forte de uma representação: muda sempre que o produto ou o vendedor exibido junto com ele mudam,
+    // e o sufixo distingue o formato (JSON, CBOR ou Smile) da mesma versão
+    public String eTag(String formatSuffix) {
+        return vendedorVersion == null
+                ? "\"" + version + formatSuffix + "\""
+                : "\"" + version + "." + vendedorVersion + formatSuffix + "\"";
+    }
+
+    // Valor para o cabeçalho Last-Modified (-1 quando desconhecido)
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.toEpochMilli();
+    }
+}
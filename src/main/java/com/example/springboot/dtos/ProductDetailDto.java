@@ -0,0 +1,20 @@
+package com.example.springboot.dtos;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record ProductDetailDto( // Produto (GET /products/{id}) junto com a versão lida na mesma consulta
+
+        ProductResponseDto product,
+        EntityVersionDto version // Origem do ETag/Last-Modified: sempre a mesma leitura do corpo, inclusive no cache
+
+) {
+
+    // Usado pela projeção JPQL ("select new ..."), que só aceita argumentos planos
+    public ProductDetailDto(UUID idProduct, String name, BigDecimal value, UUID vendedorId, String vendedorNome,
+                            Long version, Long vendedorVersion, Instant lastModified) {
+        this(new ProductResponseDto(idProduct, name, value, vendedorId, vendedorNome),
+                new EntityVersionDto(version, vendedorVersion, lastModified));
+    }
+}
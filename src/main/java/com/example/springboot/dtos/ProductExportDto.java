@@ -0,0 +1,40 @@
+package com.example.springboot.dtos;
+
+import com.example.springboot.models.ProductModel;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record ProductExportDto( // Linha da exportação do catálogo (GET /products/export), igual em NDJSON e CSV
+
+        UUID idProduct,
+        String name,
+        BigDecimal value,
+        UUID vendedorId,
+        String vendedorNome
+
+) {
+
+    // Cabeçalho do CSV, na mesma ordem dos campos
+    public static final String CSV_HEADER = "idProduct,name,value,vendedorId,vendedorNome";
+
+    public static ProductExportDto of(ProductModel product) {
+        return new ProductExportDto(product.getIdProduct(), product.getName(), product.getValue(),
+                product.getVendedor().getIdVendedor(), product.getVendedor().getNome());
+    }
+
+    // Linha CSV (RFC 4180): textos com vírgula, aspas ou quebra de linha vão entre aspas, com aspas duplicadas
+    public String toCsvLine() {
+        return idProduct + "," + csv(name) + "," + value.toPlainString() + "," + vendedorId + "," + csv(vendedorNome);
+    }
+
+    private static String csv(String text) {
+        if (text == null) {
+            return "";
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.springboot.dtos;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+public record ProductFilterDto( // Filtros opcionais da listagem de produtos (GET /products)
+
+        UUID vendedorId,       // Somente produtos deste vendedor
+        BigDecimal minValue,   // Valor mínimo (inclusivo)
+        BigDecimal maxValue,   // Valor máximo (inclusivo)
+        String name            // Prefixo do nome (usa o índice de name)
+
+) {
+
+    // Indica que nenhum filtro foi informado
+    public boolean isEmpty() {
+        return vendedorId == null && minValue == null && maxValue == null && (name == null || name.isBlank());
+    }
+
+    // Parâmetros informados, na ordem da URL, para repetir nos links "self" e "next"
+    public Map<String, Object> toQueryParams() {
+        Map<String, Object> params = new LinkedHashMap<>();
+        if (vendedorId != null) {
+            params.put("vendedorId", vendedorId);
+        }
+        if (minValue != null) {
+            params.put("minValue", minValue.toPlainString());
+        }
+        if (maxValue != null) {
+            params.put("maxValue", maxValue.toPlainString());
+        }
+        if (name != null && !name.isBlank()) {
+            params.put("name", name);
+        }
+        return params;
+    }
+}
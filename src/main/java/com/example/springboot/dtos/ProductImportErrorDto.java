@@ -0,0 +1,8 @@
+package com.example.springboot.dtos;
+
+public record ProductImportErrorDto( // Linha rejeitada em uma importação de produtos
+
+        long line,      // Número da linha no arquivo recebido (1 = primeira linha, incluindo o cabeçalho do CSV)
+        String message  // Motivo da rejeição
+
+) {}
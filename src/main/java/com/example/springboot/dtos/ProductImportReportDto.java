@@ -0,0 +1,15 @@
+package com.example.springboot.dtos;
+
+import java.util.List;
+
+public record ProductImportReportDto( // Relatório de uma importação de produtos (POST /products/import)
+
+        long total,                         // Registros lidos do arquivo
+        long imported,                      // Produtos gravados
+        long failed,                        // Registros rejeitados
+        long elapsedMillis,                 // Duração da importação
+        long rowsPerSecond,                 // Vazão média (registros lidos por segundo)
+        List<ProductImportErrorDto> errors, // Linhas rejeitadas, até o limite configurado
+        boolean errorsTruncated             // true quando houve mais rejeições do que as listadas
+
+) {}
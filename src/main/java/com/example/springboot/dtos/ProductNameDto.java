@@ -0,0 +1,10 @@
+package com.example.springboot.dtos;
+
+import java.util.UUID;
+
+public record ProductNameDto( // Projeção leve (ID e nome) usada para montar o índice de busca
+
+        UUID idProduct,
+        String name
+
+) {}
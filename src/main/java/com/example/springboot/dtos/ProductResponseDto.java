@@ -0,0 +1,23 @@
+package com.example.springboot.dtos;
+
+import org.springframework.hateoas.server.core.Relation;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// O nome da coleção em "_embedded" continua o mesmo de quando a API serializava a entidade
+@Relation(collectionRelation = "productModelList")
+public record ProductResponseDto( // Produto devolvido nas respostas da API, com um resumo do vendedor
+
+        UUID idProduct,
+        String name,
+        BigDecimal value,
+        VendedorSummaryDto vendedor
+
+) {
+
+    // Usado pelas projeções JPQL ("select new ..."), que só aceitam argumentos planos
+    public ProductResponseDto(UUID idProduct, String name, BigDecimal value, UUID vendedorId, String vendedorNome) {
+        this(idProduct, name, value, new VendedorSummaryDto(vendedorId, vendedorNome));
+    }
+}
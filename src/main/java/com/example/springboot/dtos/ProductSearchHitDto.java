@@ -0,0 +1,11 @@
+package com.example.springboot.dtos;
+
+import java.util.UUID;
+
+public record ProductSearchHitDto( // Resultado de GET /products/search, respondido só com o índice em memória
+
+        UUID idProduct,   // ID do produto encontrado
+        String name,      // Nome do produto
+        double score      // Relevância: maior = mais relevante
+
+) {}
@@ -0,0 +1,15 @@
+package com.example.springboot.dtos;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record VendedorDeletionStatusDto( // Situação de uma remoção assíncrona de vendedor (DELETE /vendedores/{id}?async=true)
+
+        UUID jobId,            // Identificador da remoção, usado em GET /vendedores/deletions/{jobId}
+        UUID vendedorId,       // Vendedor sendo removido
+        String status,         // RUNNING, DONE ou FAILED (o If-Match é conferido antes: versão errada = 412, sem job)
+        long productsDeleted,  // Produtos removidos até agora
+        Instant startedAt,     // Início da remoção
+        Instant finishedAt     // Fim da remoção; null enquanto estiver em andamento
+
+) {}
@@ -0,0 +1,17 @@
+package com.example.springboot.dtos;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record VendedorDetailDto( // Vendedor (GET /vendedores/{id}) junto com a versão lida na mesma consulta
+
+        VendedorResponseDto vendedor,
+        EntityVersionDto version // Origem do ETag/Last-Modified: sempre a mesma leitura do corpo, inclusive no cache
+
+) {
+
+    // Usado pela projeção JPQL ("select new ..."), que só aceita argumentos planos
+    public VendedorDetailDto(UUID idVendedor, String nome, String email, Long version, Instant lastModified) {
+        this(new VendedorResponseDto(idVendedor, nome, email), new EntityVersionDto(version, lastModified));
+    }
+}
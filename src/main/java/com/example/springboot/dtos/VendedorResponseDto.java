@@ -0,0 +1,15 @@
+package com.example.springboot.dtos;
+
+import org.springframework.hateoas.server.core.Relation;
+
+import java.util.UUID;
+
+// O nome da coleção em "_embedded" continua o mesmo de quando a API serializava a entidade
+@Relation(collectionRelation = "vendedorModelList")
+public record VendedorResponseDto( // Vendedor devolvido nas respostas da API (sem versão, datas nem produtos)
+
+        UUID idVendedor,
+        String nome,
+        String email
+
+) {}
@@ -0,0 +1,25 @@
+package com.example.springboot.dtos;
+
+import org.springframework.hateoas.server.core.Relation;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.UUID;
+
+@Relation(collectionRelation = "vendedorStatsList") // Nome da coleção no "_embedded" de GET /vendedores/stats
+public record VendedorStatsDto( // Resposta de GET /vendedores/{id}/stats e GET /vendedores/stats
+
+        UUID idVendedor,
+        long productCount,       // Quantidade de produtos
+        BigDecimal totalValue,   // Soma dos valores (0 sem produtos)
+        BigDecimal averageValue  // Valor médio, com 2 casas (null sem produtos)
+
+) {
+
+    // Usado pelas consultas ("select new ..."): a média é calculada aqui a partir da soma e da quantidade,
+    // porque avg() no JPQL devolve Double e perderia a precisão do BigDecimal
+    public VendedorStatsDto(UUID idVendedor, Long productCount, BigDecimal totalValue) {
+        this(idVendedor, productCount, totalValue,
+                productCount == 0 ? null : totalValue.divide(BigDecimal.valueOf(productCount), 2, RoundingMode.HALF_EVEN));
+    }
+}
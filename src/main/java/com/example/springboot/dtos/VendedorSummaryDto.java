@@ -0,0 +1,10 @@
+package com.example.springboot.dtos;
+
+import java.util.UUID;
+
+public record VendedorSummaryDto( // Resumo do vendedor embutido em cada produto (o restante fica em /vendedores/{id})
+
+        UUID idVendedor,
+        String nome
+
+) {}
@@ -0,0 +1,29 @@
+package com.example.springboot.events;
+
+import com.example.springboot.models.ProductModel;
+
+import java.util.UUID;
+
+public record ProductChangedEvent( // Evento publicado a cada produto criado, alterado ou removido
+
+        UUID idProduct,    // ID do produto afetado
+        String name,       // Nome atual (null quando o produto foi removido)
+        boolean deleted    // true quando o produto deixou de existir
+
+) {
+
+    // Produto criado ou alterado
+    public static ProductChangedEvent saved(ProductModel product) {
+        return new ProductChangedEvent(product.getIdProduct(), product.getName(), false);
+    }
+
+    // Produto alterado por UPDATE direto (sem a entidade carregada)
+    public static ProductChangedEvent saved(UUID idProduct, String name) {
+        return new ProductChangedEvent(idProduct, name, false);
+    }
+
+    // Produto removido
+    public static ProductChangedEvent deleted(UUID idProduct) {
+        return new ProductChangedEvent(idProduct, null, true);
+    }
+}
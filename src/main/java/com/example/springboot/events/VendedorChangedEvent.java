@@ -0,0 +1,21 @@
+package com.example.springboot.events;
+
+import java.util.UUID;
+
+public record VendedorChangedEvent( // Evento publicado a cada vendedor criado, alterado ou removido
+
+        UUID idVendedor,   // ID do vendedor afetado
+        boolean deleted    // true quando o vendedor deixou de existir
+
+) {
+
+    // Vendedor criado ou alterado
+    public static VendedorChangedEvent saved(UUID idVendedor) {
+        return new VendedorChangedEvent(idVendedor, false);
+    }
+
+    // Vendedor removido (os produtos removidos junto geram seus próprios ProductChangedEvent)
+    public static VendedorChangedEvent deleted(UUID idVendedor) {
+        return new VendedorChangedEvent(idVendedor, true);
+    }
+}
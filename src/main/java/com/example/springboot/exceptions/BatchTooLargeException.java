@@ -0,0 +1,11 @@
+package com.example.springboot.exceptions;
+
+// Exceção lançada quando uma requisição em lote ultrapassa a quantidade máxima de itens permitida
+public class BatchTooLargeException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BatchTooLargeException(int size, int maxItems) {
+        super("O lote possui " + size + " itens; o máximo permitido é " + maxItems + ".");
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.springboot.exceptions;
+
+// Exceção lançada quando o cursor de paginação ("after") recebido na URL não pode ser decodificado
+public class InvalidCursorException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidCursorException(String cursor) {
+        super("Cursor de paginação inválido: " + cursor);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.springboot.exceptions;
+
+// Exceção lançada quando o formato pedido na exportação ou na importação não é um dos formatos suportados
+public class InvalidFileFormatException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidFileFormatException(String format, String allowed) {
+        super("Formato de arquivo inválido: " + format + ". Valores permitidos: " + allowed + ".");
+    }
+
+    // Arquivo no formato certo, mas com estrutura inesperada (ex.: cabeçalho do CSV sem uma coluna obrigatória)
+    public InvalidFileFormatException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.springboot.exceptions;
+
+// Exceção lançada quando o parâmetro "sort" não corresponde a uma das ordenações permitidas
+public class InvalidSortException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidSortException(String sort, String allowed) {
+        super("Ordenação inválida: " + sort + ". Valores permitidos: " + allowed + ".");
+    }
+}
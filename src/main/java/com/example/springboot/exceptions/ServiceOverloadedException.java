@@ -0,0 +1,19 @@
+package com.example.springboot.exceptions;
+
+// Exceção lançada quando o limite de requisições simultâneas (leitura ou escrita) foi atingido
+public class ServiceOverloadedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String kind, int limit, long retryAfterSeconds) {
+        super("Serviço sobrecarregado: limite de " + limit + " requisições de " + kind
+                + " simultâneas atingido. Tente novamente em " + retryAfterSeconds + "s.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.springboot.links;
+
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.server.core.EmbeddedWrapper;
+import org.springframework.hateoas.server.core.EmbeddedWrappers;
+
+import java.util.List;
+
+// Monta o CollectionModel das listagens com todos os itens dentro de um único EmbeddedWrapper de coleção.
+// Na serialização HAL, os itens de um CollectionModel comum entram um a um no "_embedded", e a cada item o
+// HalEmbeddedBuilder copia a lista acumulada até ali: a alocação cresce com o quadrado do tamanho da página.
+// Com a coleção já embrulhada, a lista inteira entra de uma vez. O JSON gerado é o mesmo (a relação da
+// coleção continua vindo do @Relation do tipo dos itens).
+public final class HalCollections {
+
+    private static final EmbeddedWrappers WRAPPERS = new EmbeddedWrappers(true);
+
+    private HalCollections() {
+    }
+
+    public static CollectionModel<EmbeddedWrapper> of(List<?> items, Link... links) {
+        // Uma coleção vazia não tem de onde tirar a relação; sem itens, não há "_embedded" a montar
+        List<EmbeddedWrapper> content = items.isEmpty() ? List.of() : List.of(WRAPPERS.wrap(items));
+        return CollectionModel.of(content, links);
+    }
+}
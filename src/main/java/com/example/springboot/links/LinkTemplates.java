@@ -0,0 +1,100 @@
+package com.example.springboot.links;
+
+import com.example.springboot.controllers.ProductController;
+import com.example.springboot.controllers.VendedorController;
+
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+// Monta os links HATEOAS a partir de um "molde" de URI resolvido uma única vez por requisição.
+// linkTo(methodOn(...)) cria um proxy CGLIB, usa reflexão e reinterpreta a URI da requisição a cada
+// chamada; aqui isso acontece uma vez e cada item recebe seus links por simples concatenação de texto.
+@Component
+public class LinkTemplates {
+
+    // Links de /products resolvidos para a requisição atual
+    public ResourceLinks products() {
+        return new ResourceLinks(linkTo(ProductController.class).toUri().toString(), "products");
+    }
+
+    // Links de /vendedores resolvidos para a requisição atual
+    public ResourceLinks vendedores() {
+        return new ResourceLinks(linkTo(VendedorController.class).toUri().toString(), "vendedores");
+    }
+
+    // Links de /vendedores/{id}/products (páginas dos produtos de um vendedor; os itens usam products().self(id))
+    public ResourceLinks vendedorProducts(UUID vendedorId) {
+        return new ResourceLinks(linkTo(VendedorController.class).toUri() + "/" + vendedorId + "/products", "products");
+    }
+
+    // Links de /vendedores/stats (páginas do resumo; os itens usam vendedores().item(id, "stats"))
+    public ResourceLinks vendedorStats() {
+        return new ResourceLinks(linkTo(VendedorController.class).toUri() + "/stats", "vendedorStats");
+    }
+
+    // Links de um recurso (produto ou vendedor) a partir da URI base do controller
+    public static final class ResourceLinks {
+
+        private final String baseUri;
+
+        // Link imutável para a coleção; a mesma instância é reaproveitada por todos os itens
+        private final Link collection;
+
+        ResourceLinks(String baseUri, String collectionRel) {
+            this.baseUri = baseUri;
+            this.collection = Link.of(baseUri).withRel(collectionRel);
+        }
+
+        // Link "self" de um item: {base}/{id}
+        public Link self(UUID id) {
+            return Link.of(baseUri + "/" + id);
+        }
+
+        // Link de um sub-recurso do item: {base}/{id}/{path}
+        public Link item(UUID id, String path) {
+            return Link.of(baseUri + "/" + id + "/" + path);
+        }
+
+        // Link para a lista completa (ex.: rel "products")
+        public Link collection() {
+            return collection;
+        }
+
+        // Link "self" da própria página, repetindo os parâmetros recebidos
+        public Link page(String after, Integer limit) {
+            return page(after, limit, Map.of());
+        }
+
+        // Link "self" de uma página filtrada/ordenada (filtros e sort repetidos na URL)
+        public Link page(String after, Integer limit, Map<String, ?> query) {
+            return Link.of(pageUri(after, limit, query));
+        }
+
+        // Link "next" com o cursor do último item entregue
+        public Link next(String cursor, int limit) {
+            return next(cursor, limit, Map.of());
+        }
+
+        // Link "next" de uma página filtrada/ordenada
+        public Link next(String cursor, int limit, Map<String, ?> query) {
+            return Link.of(pageUri(cursor, limit, query)).withRel(IanaLinkRelations.NEXT);
+        }
+
+        private String pageUri(String after, Integer limit, Map<String, ?> query) {
+            UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(baseUri);
+            query.forEach(builder::queryParam);
+            return builder
+                    .queryParamIfPresent("after", Optional.ofNullable(after))
+                    .queryParamIfPresent("limit", Optional.ofNullable(limit))
+                    .toUriString();
+        }
+    }
+}
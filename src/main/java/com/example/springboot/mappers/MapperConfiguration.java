@@ -0,0 +1,17 @@
+package com.example.springboot.mappers;
+
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.MapperConfig;
+import org.mapstruct.ReportingPolicy;
+
+// Regras comuns dos mappers gerados pelo MapStruct: viram beans do Spring e qualquer campo de origem ou
+// de destino sem correspondência é erro de compilação (precisa ser mapeado ou ignorado explicitamente),
+// em vez de ser ignorado em silêncio como no BeanUtils.copyProperties
+@MapperConfig(
+        componentModel = "spring",
+        injectionStrategy = InjectionStrategy.CONSTRUCTOR,
+        unmappedTargetPolicy = ReportingPolicy.ERROR,
+        unmappedSourcePolicy = ReportingPolicy.ERROR
+)
+public interface MapperConfiguration {
+}
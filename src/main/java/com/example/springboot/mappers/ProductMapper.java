@@ -0,0 +1,32 @@
+package com.example.springboot.mappers;
+
+import com.example.springboot.dtos.ProductRecordDto;
+import com.example.springboot.dtos.ProductResponseDto;
+import com.example.springboot.models.ProductModel;
+
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+// Conversões de produto geradas em tempo de compilação (ProductMapperImpl); o resumo do vendedor
+// embutido na resposta usa o VendedorMapper
+@Mapper(config = MapperConfiguration.class, uses = VendedorMapper.class)
+public interface ProductMapper {
+
+    // Novo produto a partir do corpo do POST. O vendedorId não vira propriedade: quem chama resolve o
+    // vendedor (busca ou referência) e o atribui com setVendedor
+    @BeanMapping(ignoreUnmappedSourceProperties = "vendedorId")
+    @Mapping(target = "idProduct", ignore = true)
+    @Mapping(target = "vendedor", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    ProductModel toEntity(ProductRecordDto dto);
+
+    @BeanMapping(ignoreUnmappedSourceProperties = {"version", "updatedAt"})
+    ProductResponseDto toResponse(ProductModel product);
+
+    // Página da listagem filtrada, carregada como entidades por causa do ETag (versões e datas)
+    List<ProductResponseDto> toResponses(List<ProductModel> products);
+}
@@ -0,0 +1,30 @@
+package com.example.springboot.mappers;
+
+import com.example.springboot.dtos.VendedorRecordDto;
+import com.example.springboot.dtos.VendedorResponseDto;
+import com.example.springboot.dtos.VendedorSummaryDto;
+import com.example.springboot.models.VendedorModel;
+
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+// Conversões de vendedor geradas em tempo de compilação (VendedorMapperImpl): chamadas diretas a getters
+// e setters, sem reflexão
+@Mapper(config = MapperConfiguration.class)
+public interface VendedorMapper {
+
+    // Novo vendedor a partir do corpo do POST; ID, versão e data são preenchidos pelo JPA
+    @Mapping(target = "idVendedor", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "produtos", ignore = true)
+    VendedorModel toEntity(VendedorRecordDto dto);
+
+    @BeanMapping(ignoreUnmappedSourceProperties = {"version", "updatedAt", "produtos"})
+    VendedorResponseDto toResponse(VendedorModel vendedor);
+
+    // Resumo embutido nos produtos
+    @BeanMapping(ignoreUnmappedSourceProperties = {"email", "version", "updatedAt", "produtos"})
+    VendedorSummaryDto toSummary(VendedorModel vendedor);
+}
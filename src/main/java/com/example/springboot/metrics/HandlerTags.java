@@ -0,0 +1,18 @@
+package com.example.springboot.metrics;
+
+import org.springframework.web.method.HandlerMethod;
+
+// Nome curto do método de controller que atendeu a requisição, usado como tag "handler" nas métricas
+public final class HandlerTags {
+
+    private HandlerTags() {
+    }
+
+    // Ex.: "ProductController.getAllProducts"; "none" quando não foi um método de controller (404, recursos estáticos)
+    public static String handlerName(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return "none";
+    }
+}
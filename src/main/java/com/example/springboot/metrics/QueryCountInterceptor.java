@@ -0,0 +1,53 @@
+package com.example.springboot.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+// Registra quantos comandos SQL cada requisição executou (http.server.requests.queries), com as mesmas
+// tags de método, rota e handler das métricas de tempo. Um aumento nessa distribuição aponta N+1
+// ou consultas extras introduzidas em um endpoint específico.
+public class QueryCountInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String METRIC = "http.server.requests.queries";
+
+    private final QueryCounter queryCounter;
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountInterceptor(QueryCounter queryCounter, MeterRegistry meterRegistry) {
+        this.queryCounter = queryCounter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        queryCounter.start();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int queries = queryCounter.stop();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(METRIC)
+                .description("Comandos SQL executados por requisição")
+                .baseUnit("queries")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                .tag("handler", HandlerTags.handlerName(handler))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(queries);
+    }
+
+    // Respostas em streaming terminam em outra thread: a contagem desta thread é descartada
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        queryCounter.stop();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.springboot.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+// Conta os comandos SQL preparados pelo Hibernate na thread da requisição atual. É registrado como
+// StatementInspector (ver MetricsConfig): o Hibernate o chama antes de preparar cada comando.
+// Fora de uma requisição (inicialização, tarefas em segundo plano) nada é contado.
+@Component
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql; // O comando segue sem alterações
+    }
+
+    // Começa a contar na thread atual
+    public void start() {
+        COUNT.set(new int[1]);
+    }
+
+    // Para de contar e devolve quantos comandos foram preparados desde o start()
+    public int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+}
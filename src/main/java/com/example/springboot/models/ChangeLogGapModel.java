@@ -0,0 +1,53 @@
+package com.example.springboot.models;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+// Buraco de TB_CHANGE_LOG já pulado pelo feed depois de loja.changes.gap-timeout (sequências reservadas por
+// transações que não confirmaram). Guardado no banco para que outra instância, ou esta depois de reiniciar,
+// passe pelo mesmo buraco sem esperar de novo (ver ChangeFeedService). Apagado junto com o registro, pela retenção.
+@Entity
+@Table(name = "TB_CHANGE_LOG_GAP")
+public class ChangeLogGapModel implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // Primeira sequência do buraco (não é gerada: vem de TB_CHANGE_LOG)
+    @Id
+    private Long firstSequence;
+
+    // Última sequência do buraco
+    @Column(nullable = false)
+    private Long lastSequence;
+
+    // Momento em que o buraco foi pulado (usado para apagar as linhas antigas)
+    @Column(nullable = false)
+    private Instant skippedAt;
+
+    // -------------------- GETTERS / SETTERS --------------------
+
+    public Long getFirstSequence() {
+        return firstSequence;
+    }
+
+    public void setFirstSequence(Long firstSequence) {
+        this.firstSequence = firstSequence;
+    }
+
+    public Long getLastSequence() {
+        return lastSequence;
+    }
+
+    public void setLastSequence(Long lastSequence) {
+        this.lastSequence = lastSequence;
+    }
+
+    public Instant getSkippedAt() {
+        return skippedAt;
+    }
+
+    public void setSkippedAt(Instant skippedAt) {
+        this.skippedAt = skippedAt;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.springboot.models;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+// Registro de alterações (append-only) de produtos e vendedores, gravado na mesma transação da escrita
+// (ver ChangeLogWriter) e lido pelo feed GET /products/changes. O número sequencial, atribuído pelo banco,
+// é o cursor do feed (id do evento SSE / ?since=). Linhas mais antigas que loja.changes.retention são apagadas.
+@Entity
+@Table(name = "TB_CHANGE_LOG", indexes = {
+        @Index(name = "idx_change_log_changed_at", columnList = "changed_at")
+})
+public class ChangeLogModel implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // Sequência crescente (IDENTITY): a ordem de leitura do feed
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long idChange;
+
+    // "product" ou "vendedor"
+    @Column(nullable = false, length = 16)
+    private String entityType;
+
+    // ID do produto ou vendedor alterado
+    @Column(nullable = false)
+    private UUID entityId;
+
+    // true quando o registro deixou de existir
+    private boolean deleted;
+
+    // Momento da gravação (usado para apagar as linhas antigas)
+    @Column(nullable = false)
+    private Instant changedAt;
+
+    // -------------------- GETTERS / SETTERS --------------------
+
+    public Long getIdChange() {
+        return idChange;
+    }
+
+    public void setIdChange(Long idChange) {
+        this.idChange = idChange;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public UUID getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(UUID entityId) {
+        this.entityId = entityId;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(Instant changedAt) {
+        this.changedAt = changedAt;
+    }
+}
@@ -7,27 +7,39 @@ import com.example.springboot.models.VendedorModel;
 // Importa anotações e tipos do JPA para mapeamento ORM
 import jakarta.persistence.*;
 
-// Importa RepresentationModel do Spring HATEOAS para permitir adicionar links ao recurso
-import org.springframework.hateoas.RepresentationModel;
+// Importa as anotações do Hibernate para gerar o UUID e preencher a data de alteração
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.annotations.UuidGenerator;
+
+// Importa a anotação que oculta campos de controle (versão e data) do JSON
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 // Importa interfaces para serialização e tipos utilitários
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.UUID;
 
 // Anotação que indica que esta classe é uma entidade JPA (será mapeada para uma tabela)
 @Entity
-// Define o nome da tabela no banco de dados
-@Table(name = "TB_PRODUCTS")
-// Declaração da classe: estende RepresentationModel para suportar HATEOAS e implementa Serializable
-public class ProductModel extends RepresentationModel<ProductModel> implements Serializable {
+// Define o nome da tabela no banco de dados e os índices usados pelos filtros/ordenações de GET /products.
+// Cada índice termina no ID, que é o desempate da paginação por chave: WHERE + ORDER BY + LIMIT são
+// atendidos percorrendo o índice, sem ordenar a tabela inteira
+@Table(name = "TB_PRODUCTS", indexes = {
+        @Index(name = "idx_products_vendedor", columnList = "vendedor_id, id_product"),
+        @Index(name = "idx_products_value", columnList = "product_value, id_product"),
+        @Index(name = "idx_products_name", columnList = "name, id_product")
+})
+// Declaração da classe: implementa Serializable. A entidade não é serializada nas respostas: a API devolve
+// ProductResponseDto, e os links HATEOAS ficam no EntityModel que embrulha o registro
+public class ProductModel implements Serializable {
     // Versão para controle de compatibilidade da serialização
     private static final long serialVersionUID = 1L;
 
     // Indica que este campo é a chave primária da entidade
     @Id
-    // Define a estratégia de geração automática do ID (UUID será gerado pelo provedor)
-    @GeneratedValue(strategy= GenerationType.AUTO)
+    // Gera o UUID ordenado pelo tempo (v7): inserções sempre no fim do índice da chave primária
+    @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)
     // Campo que representa o identificador do produto (UUID)
     private UUID idProduct;
 
@@ -39,12 +51,24 @@ public class ProductModel extends RepresentationModel<ProductModel> implements S
     private BigDecimal value;
 
     // Define relação Many-to-One: muitos produtos podem pertencer a um vendedor
-    @ManyToOne
+    // LAZY evita um SELECT extra em TB_VENDEDORES por vendedor distinto (N+1); as consultas
+    // de leitura do ProductRepository carregam o vendedor via entity graph (JOIN) quando necessário
+    @ManyToOne(fetch = FetchType.LAZY)
     // Especifica a coluna de junção no banco que referencia o vendedor
     @JoinColumn(name = "vendedor_id")
     // Campo que referencia o vendedor associado a este produto
     private VendedorModel vendedor;
 
+    // Versão do registro: incrementada a cada alteração (controle de concorrência otimista e ETag)
+    @Version
+    @JsonIgnore
+    private Long version;
+
+    // Momento da última alteração, usado no cabeçalho Last-Modified
+    @UpdateTimestamp
+    @JsonIgnore
+    private Instant updatedAt;
+
     // -------------------- GETTERS / SETTERS --------------------
 
     // Retorna o ID do produto
@@ -86,4 +110,24 @@ public class ProductModel extends RepresentationModel<ProductModel> implements S
     public void setVendedor(VendedorModel vendedor) {
         this.vendedor = vendedor;
     }
+
+    // Retorna a versão atual do registro
+    public Long getVersion() {
+        return version;
+    }
+
+    // Define a versão do registro (normalmente controlada pelo Hibernate)
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    // Retorna o momento da última alteração
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    // Define o momento da última alteração (normalmente controlado pelo Hibernate)
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.example.springboot.models;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Gerador de UUID ordenado pelo tempo no formato da versão 7 (RFC 9562):
+// 48 bits com o instante em milissegundos, 12 bits de contador e 62 bits aleatórios.
+// Novas chaves sempre entram no fim do índice da chave primária (B-tree), em vez de
+// espalhadas como no UUID v4 aleatório, mantendo o tipo UUID exposto pela API.
+// Usado pelas entidades via @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class).
+public class TimeOrderedUuidGenerator implements UuidValueGenerator {
+
+    // Último valor emitido de (timestamp << 12 | contador); garante ordem crescente entre threads
+    private static final AtomicLong LAST_TIMESTAMP_AND_COUNTER = new AtomicLong();
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return generate();
+    }
+
+    public static UUID generate() {
+        long now = System.currentTimeMillis() << 12;
+        // No mesmo milissegundo (ou se o relógio voltar), apenas incrementa o contador
+        long timestampAndCounter = LAST_TIMESTAMP_AND_COUNTER.updateAndGet(last -> Math.max(now, last + 1));
+
+        long timestamp = timestampAndCounter >>> 12;
+        long counter = timestampAndCounter & 0xFFFL;
+
+        long mostSignificantBits = (timestamp << 16) | 0x7000L | counter; // versão 7
+        long leastSignificantBits = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL)
+                | 0x8000000000000000L; // variante RFC 9562
+
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
@@ -7,9 +7,16 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 // Importa as anotações necessárias para mapear a classe como uma entidade JPA.
 
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.annotations.UuidGenerator;
+// Importa as anotações do Hibernate para gerar o UUID e preencher a data da última alteração.
+
 import java.io.Serializable;
 // Importa a interface Serializable, que permite que objetos dessa classe sejam transformados em bytes (necessário para entidades JPA).
 
+import java.time.Instant;
+// Importa a classe Instant, usada para registrar o momento da última alteração.
+
 import java.util.List;
 // Importa a interface List, usada para armazenar uma coleção de produtos associados ao vendedor.
 
@@ -31,8 +38,8 @@ public class VendedorModel implements Serializable {
     @Id
     // Indica que o campo abaixo é a chave primária da tabela.
 
-    @GeneratedValue(strategy=GenerationType.AUTO)
-    // Define que o valor do ID será gerado automaticamente pelo banco de dados, utilizando UUID.
+    @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)
+    // Define que o ID será um UUID ordenado pelo tempo (v7), gerado pela aplicação antes do INSERT.
 
     private UUID idVendedor;
     // Campo que armazena o identificador único do vendedor.
@@ -43,6 +50,16 @@ public class VendedorModel implements Serializable {
     private String email;
     // Campo que armazena o email do vendedor.
 
+    @Version
+    @JsonIgnore
+    private Long version;
+    // Versão do registro, incrementada a cada alteração (controle de concorrência otimista e ETag).
+
+    @UpdateTimestamp
+    @JsonIgnore
+    private Instant updatedAt;
+    // Momento da última alteração, usado no cabeçalho Last-Modified.
+
     @OneToMany(mappedBy = "vendedor", cascade = CascadeType.ALL)
     // Define um relacionamento "um para muitos" com a entidade ProductModel.
     // O atributo "mappedBy" indica que o mapeamento é feito pela propriedade "vendedor" na classe ProductModel.
@@ -95,4 +112,24 @@ public class VendedorModel implements Serializable {
         this.produtos = produtos;
     }
     // Define a lista de produtos associados ao vendedor.
+
+    public Long getVersion() {
+        return version;
+    }
+    // Retorna a versão atual do registro.
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    // Define a versão do registro (normalmente controlada pelo Hibernate).
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+    // Retorna o momento da última alteração.
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    // Define o momento da última alteração (normalmente controlado pelo Hibernate).
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.example.springboot.models;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Resumo materializado dos produtos de cada vendedor (quantidade e soma dos valores), mantido por
+// incrementos a cada escrita de produto quando loja.vendedores.stats.materialized=true (ver VendedorStatsService).
+// A chave é o próprio ID do vendedor, sem chave estrangeira: a linha é removida junto com o vendedor.
+@Entity
+@Table(name = "TB_VENDEDOR_STATS")
+public class VendedorStatsModel implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // ID do vendedor resumido (não é gerado: vem de TB_VENDEDORES)
+    @Id
+    private UUID idVendedor;
+
+    // Quantidade de produtos do vendedor
+    private long productCount;
+
+    // Soma dos valores dos produtos, com a mesma precisão de TB_PRODUCTS.product_value
+    @Column(precision = 38, scale = 2)
+    private BigDecimal totalValue;
+
+    // -------------------- GETTERS / SETTERS --------------------
+
+    public UUID getIdVendedor() {
+        return idVendedor;
+    }
+
+    public void setIdVendedor(UUID idVendedor) {
+        this.idVendedor = idVendedor;
+    }
+
+    public long getProductCount() {
+        return productCount;
+    }
+
+    public void setProductCount(long productCount) {
+        this.productCount = productCount;
+    }
+
+    public BigDecimal getTotalValue() {
+        return totalValue;
+    }
+
+    public void setTotalValue(BigDecimal totalValue) {
+        this.totalValue = totalValue;
+    }
+}
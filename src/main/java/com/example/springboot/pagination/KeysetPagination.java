@@ -0,0 +1,118 @@
+package com.example.springboot.pagination;
+
+import com.example.springboot.exceptions.InvalidCursorException;
+
+import org.springframework.data.domain.Limit;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+// Utilitário para paginação por chave (keyset/cursor): em vez de OFFSET, cada página
+// começa logo após o último ID da página anterior, então a página 1000 custa o mesmo que a página 1.
+public final class KeysetPagination {
+
+    // Quantidade de itens por página quando o cliente não informa "limit"
+    public static final int DEFAULT_LIMIT = 50;
+
+    // Limite máximo aceito para evitar páginas gigantes
+    public static final int MAX_LIMIT = 500;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    // Separa a ordenação do valor do atributo nos cursores ordenados
+    private static final char SORT_SEPARATOR = ':';
+
+    private KeysetPagination() {
+    }
+
+    // Ajusta o limite recebido para o intervalo [1, MAX_LIMIT]
+    public static int normalizeLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    // Busca uma linha a mais que o tamanho da página para saber se existe próxima página
+    public static Limit probeLimit(int pageSize) {
+        return Limit.of(pageSize + 1);
+    }
+
+    // Indica se a consulta retornou a linha extra (ou seja, existe próxima página)
+    public static boolean hasNext(List<?> rows, int pageSize) {
+        return rows.size() > pageSize;
+    }
+
+    // Remove a linha extra usada apenas para detectar a próxima página
+    public static <T> List<T> trim(List<T> rows, int pageSize) {
+        return rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+    }
+
+    // Converte o último UUID da página em um token opaco (Base64 URL-safe dos 16 bytes)
+    public static String encodeCursor(UUID id) {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+        return ENCODER.encodeToString(buffer.array());
+    }
+
+    // Converte o token recebido de volta em UUID; null significa "primeira página"
+    public static UUID decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            byte[] bytes = DECODER.decode(cursor);
+            if (bytes.length != 16) {
+                throw new InvalidCursorException(cursor);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            return new UUID(buffer.getLong(), buffer.getLong());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    // Cursor de uma ordenação por atributo: a ordenação em que foi gerado, o valor do atributo no último item
+    // e o ID como desempate
+    public record SortedCursor(UUID id, String sort, String value) {
+    }
+
+    // Grava os 16 bytes do ID seguidos de "ordenação:valor" em UTF-8, no mesmo Base64 URL-safe. A ordenação
+    // (ex.: "-value") nunca contém ":", então o valor pode conter qualquer caractere
+    public static String encodeCursor(UUID id, String sort, String value) {
+        byte[] textBytes = (sort + SORT_SEPARATOR + value).getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(16 + textBytes.length);
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+        buffer.put(textBytes);
+        return ENCODER.encodeToString(buffer.array());
+    }
+
+    // Lê um cursor gerado por encodeCursor(UUID, String, String); null significa "primeira página"
+    public static SortedCursor decodeSortedCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            byte[] bytes = DECODER.decode(cursor);
+            if (bytes.length <= 16) {
+                throw new InvalidCursorException(cursor);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            UUID id = new UUID(buffer.getLong(), buffer.getLong());
+            String text = new String(bytes, 16, bytes.length - 16, StandardCharsets.UTF_8);
+            int separator = text.indexOf(SORT_SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException(cursor);
+            }
+            return new SortedCursor(id, text.substring(0, separator), text.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.springboot.pagination;
+
+import com.example.springboot.exceptions.InvalidCursorException;
+import com.example.springboot.exceptions.InvalidSortException;
+import com.example.springboot.dtos.ProductResponseDto;
+
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Ordenações aceitas em GET /products?sort=. Somente colunas indexadas são permitidas, e o ID entra
+// sempre como desempate para que a paginação por chave continue estável com valores repetidos.
+public enum ProductSort {
+
+    ID("id", null, null, null),
+    VALUE("value", "value", Sort.Direction.ASC, ProductResponseDto::value),
+    VALUE_DESC("-value", "value", Sort.Direction.DESC, ProductResponseDto::value),
+    NAME("name", "name", Sort.Direction.ASC, ProductResponseDto::name),
+    NAME_DESC("-name", "name", Sort.Direction.DESC, ProductResponseDto::name);
+
+    private final String param;
+    private final String property;
+    private final Sort.Direction direction;
+    private final Function<ProductResponseDto, Comparable<?>> extractor;
+
+    ProductSort(String param, String property, Sort.Direction direction, Function<ProductResponseDto, Comparable<?>> extractor) {
+        this.param = param;
+        this.property = property;
+        this.direction = direction;
+        this.extractor = extractor;
+    }
+
+    // Converte o parâmetro da URL; ausente = ordenação pelo ID
+    public static ProductSort fromParam(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return ID;
+        }
+        return Arrays.stream(values())
+                .filter(value -> value.param.equals(sort))
+                .findFirst()
+                .orElseThrow(() -> new InvalidSortException(sort,
+                        Arrays.stream(values()).map(ProductSort::param).collect(Collectors.joining(", "))));
+    }
+
+    // Valor usado na URL (ex.: "-value")
+    public String param() {
+        return param;
+    }
+
+    // Atributo da entidade ordenado antes do ID (null quando a ordenação é só pelo ID)
+    public String property() {
+        return property;
+    }
+
+    public boolean isDescending() {
+        return direction == Sort.Direction.DESC;
+    }
+
+    // Ordenação completa: atributo escolhido e o ID como desempate
+    public Sort toSort() {
+        Sort byId = Sort.by(Sort.Direction.ASC, "idProduct");
+        return property == null ? byId : Sort.by(direction, property).and(byId);
+    }
+
+    // Valor do atributo ordenado no último item da página, gravado no cursor
+    public String cursorValue(ProductResponseDto product) {
+        Object value = extractor.apply(product);
+        return value instanceof BigDecimal decimal ? decimal.toPlainString() : String.valueOf(value);
+    }
+
+    // Converte o valor lido do cursor de volta para o tipo do atributo
+    public Comparable<?> parseCursorValue(String value) {
+        try {
+            return this == VALUE || this == VALUE_DESC ? new BigDecimal(value) : value;
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException(value);
+        }
+    }
+}
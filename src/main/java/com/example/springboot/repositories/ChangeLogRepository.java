@@ -0,0 +1,52 @@
+package com.example.springboot.repositories;
+
+import com.example.springboot.dtos.ChangeEventDto;
+import com.example.springboot.models.ChangeLogModel;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogModel, Long> {
+    // Leituras do registro de alterações pela chave primária (sequência), sempre em ordem crescente.
+    // As gravações são feitas em lote pelo ChangeLogWriter, via JDBC, na transação de quem alterou; a leitura
+    // contínua do despacho também é feita via JDBC pelo ChangeFeedService. As leituras rodam em transações de
+    // escrita para irem sempre ao primário (ver ReplicaRoutingDataSource): uma réplica atrasada faria o reenvio
+    // pular eventos
+
+    // -------------------- LEITURAS --------------------
+
+    // Alterações no intervalo (after, upTo]: reenvio para quem se conecta com ?since= / Last-Event-ID
+    @Transactional
+    @Query("select new com.example.springboot.dtos.ChangeEventDto(c.idChange, c.entityType, c.entityId, c.deleted, c.changedAt) "
+            + "from ChangeLogModel c where c.idChange > :after and c.idChange <= :upTo order by c.idChange")
+    List<ChangeEventDto> findRange(long after, long upTo, Limit limit);
+
+    // Maior sequência gravada (0 com o registro vazio): ponto de partida do despacho ao subir a aplicação
+    @Transactional
+    @Query("select coalesce(max(c.idChange), 0) from ChangeLogModel c")
+    long findLatestSequence();
+
+    // Menor sequência ainda guardada (null com o registro vazio): cursores anteriores já foram apagados
+    @Transactional
+    @Query("select min(c.idChange) from ChangeLogModel c")
+    Long findOldestSequence();
+
+    // -------------------- RETENÇÃO --------------------
+
+    @Modifying
+    @Query("delete from ChangeLogModel c where c.changedAt < :before")
+    int deleteOlderThan(Instant before);
+
+    // Buracos já pulados pelo feed (TB_CHANGE_LOG_GAP), apagados no mesmo prazo do registro
+    @Modifying
+    @Query("delete from ChangeLogGapModel g where g.skippedAt < :before")
+    int deleteGapsOlderThan(Instant before);
+}
@@ -1,15 +1,208 @@
 package com.example.springboot.repositories;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.example.springboot.config.CacheConfig;
+import com.example.springboot.dtos.CollectionVersionDto;
+import com.example.springboot.dtos.EntityVersionDto;
+import com.example.springboot.dtos.ProductNameDto;
+import com.example.springboot.dtos.ProductDetailDto;
+import com.example.springboot.dtos.ProductResponseDto;
 import com.example.springboot.models.ProductModel;
+import com.example.springboot.models.VendedorModel;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProductRepository extends JpaRepository<ProductModel, UUID>{
+public interface ProductRepository extends JpaRepository<ProductModel, UUID>, JpaSpecificationExecutor<ProductModel> {
     // Interface que estende JpaRepository para operações CRUD em ProductModel
+    // JpaSpecificationExecutor atende a listagem filtrada (ver ProductSpecifications)
     // O UUID é o tipo de dado usado como identificador único para os produtos
+    // As anotações de cache só têm efeito com loja.cache.enabled=true (ver CacheConfig)
+
+    // -------------------- LEITURAS PARA EXIBIÇÃO (PROJEÇÕES) --------------------
+    // Devolvem direto o registro da resposta: o SELECT traz só as colunas exibidas (o vendedor vem no
+    // mesmo JOIN, resumido em ID e nome) e nenhuma entidade entra no contexto de persistência, então não há
+    // cópia para dirty checking nem proxy LAZY que a serialização possa disparar. Os registros são imutáveis,
+    // o que também os torna seguros para guardar no cache
+
+    // Paginação por chave: primeira página, ordenada pelo ID
+    @Cacheable(cacheNames = CacheConfig.PRODUCT_PAGES, key = "'first:' + #p0.max()")
+    @Query("select new com.example.springboot.dtos.ProductResponseDto(p.idProduct, p.name, p.value, v.idVendedor, v.nome) "
+            + "from ProductModel p join p.vendedor v order by p.idProduct")
+    List<ProductResponseDto> findFirstPage(Limit limit);
+
+    // Paginação por chave: próximas páginas começam depois do último ID já entregue (sem OFFSET)
+    @Cacheable(cacheNames = CacheConfig.PRODUCT_PAGES, key = "#p0 + ':' + #p1.max()")
+    @Query("select new com.example.springboot.dtos.ProductResponseDto(p.idProduct, p.name, p.value, v.idVendedor, v.nome) "
+            + "from ProductModel p join p.vendedor v where p.idProduct > :after order by p.idProduct")
+    List<ProductResponseDto> findPageAfter(UUID after, Limit limit);
+
+    // Produtos de um vendedor (GET /vendedores/{id}/products), pela mesma paginação por chave: o filtro e a
+    // ordem seguem o índice idx_products_vendedor (vendedor_id, id_product), sem tocar em VendedorModel.produtos
+    @Cacheable(cacheNames = CacheConfig.PRODUCT_PAGES, key = "'vendedor:' + #p0 + ':first:' + #p1.max()")
+    @Query("select new com.example.springboot.dtos.ProductResponseDto(p.idProduct, p.name, p.value, v.idVendedor, v.nome) "
+            + "from ProductModel p join p.vendedor v where v.idVendedor = :vendedorId order by p.idProduct")
+    List<ProductResponseDto> findFirstPageOfVendedor(UUID vendedorId, Limit limit);
+
+    @Cacheable(cacheNames = CacheConfig.PRODUCT_PAGES, key = "'vendedor:' + #p0 + ':' + #p1 + ':' + #p2.max()")
+    @Query("select new com.example.springboot.dtos.ProductResponseDto(p.idProduct, p.name, p.value, v.idVendedor, v.nome) "
+            + "from ProductModel p join p.vendedor v where v.idVendedor = :vendedorId and p.idProduct > :after "
+            + "order by p.idProduct")
+    List<ProductResponseDto> findPageOfVendedorAfter(UUID vendedorId, UUID after, Limit limit);
+
+    // Um único produto, com o resumo do vendedor e a versão (ETag / Last-Modified) lidos no mesmo SELECT:
+    // no cache, corpo e ETag ficam sempre juntos e nunca de leituras diferentes
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS, key = "#p0", unless = "#result == null")
+    @Query("select new com.example.springboot.dtos.ProductDetailDto(p.idProduct, p.name, p.value, v.idVendedor, v.nome, "
+            + "p.version, v.version, greatest(p.updatedAt, v.updatedAt)) "
+            + "from ProductModel p join p.vendedor v where p.idProduct = :id")
+    Optional<ProductDetailDto> findDetailByIdProduct(UUID id);
+
+    // -------------------- DEMAIS LEITURAS --------------------
+
+    // Produto com o vendedor carregado em uma única consulta (JOIN pelo entity graph); usado depois do PUT,
+    // que precisa da entidade para o novo ETag
+    @EntityGraph(attributePaths = "vendedor")
+    Optional<ProductModel> findWithVendedorByIdProduct(UUID idProduct);
+
+    // Versão do produto e do vendedor embutido, sem carregar as entidades (ETag / Last-Modified)
+    @Query("select new com.example.springboot.dtos.EntityVersionDto(p.version, v.version, greatest(p.updatedAt, v.updatedAt)) "
+            + "from ProductModel p join p.vendedor v where p.idProduct = :id")
+    Optional<EntityVersionDto> findVersionByIdProduct(UUID id);
+
+    // Agregado da mesma janela buscada pela paginação por chave (limit já inclui a linha extra),
+    // usado para o ETag da listagem sem carregar nem serializar os produtos
+    @Query("select new com.example.springboot.dtos.CollectionVersionDto(count(*), sum(x.version), max(x.id), max(x.updatedAt)) "
+            + "from (select cast(p.idProduct as String) as id, p.version + v.version as version, "
+            + "greatest(p.updatedAt, v.updatedAt) as updatedAt "
+            + "from ProductModel p join p.vendedor v "
+            + "where :after is null or p.idProduct > :after order by p.idProduct limit :limit) x")
+    CollectionVersionDto findPageVersion(UUID after, int limit);
+
+    // ID e nome de todos os produtos, lidos em streaming (sem entidades no contexto de persistência),
+    // para montar o índice de busca; exige uma transação aberta enquanto o Stream é consumido
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.example.springboot.dtos.ProductNameDto(p.idProduct, p.name) from ProductModel p")
+    Stream<ProductNameDto> streamAllNames();
+
+    // Todos os produtos com seus vendedores, em ordem de ID, lidos em streaming para a exportação do catálogo.
+    // Somente leitura: o Hibernate não guarda cópias para verificar alterações; exige uma transação aberta
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from ProductModel p join fetch p.vendedor order by p.idProduct")
+    Stream<ProductModel> streamAllForExport();
+
+    // Próximo lote de IDs dos produtos de um vendedor, em ordem de ID (remoção do vendedor em lotes).
+    // Lido só do índice idx_products_vendedor; "after" pula o que já foi removido sem revisitar o índice
+    @Query("select p.idProduct from ProductModel p where p.vendedor.idVendedor = :vendedorId and p.idProduct > :after "
+            + "order by p.idProduct")
+    List<UUID> findIdsOfVendedorAfter(UUID vendedorId, UUID after, Limit limit);
+
+    // Retorna apenas os IDs existentes dentre os informados (usado nas operações em lote)
+    @Query("select p.idProduct from ProductModel p where p.idProduct in :ids")
+    List<UUID> findExistingIds(Collection<UUID> ids);
+
+    // Mesmos IDs, bloqueando as linhas (SELECT ... FOR UPDATE) até o fim da transação: o resumo materializado
+    // dos vendedores lê os valores atuais desses produtos antes de alterá-los, sem que outra transação os mude
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p.idProduct from ProductModel p where p.idProduct in :ids")
+    List<UUID> lockByIds(Collection<UUID> ids);
+
+    // -------------------- ESCRITAS (removem do cache o que ficou desatualizado) --------------------
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#p0.idProduct", condition = "#p0.idProduct != null"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCT_PAGES, allEntries = true)
+    })
+    <S extends ProductModel> S save(S entity);
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCT_PAGES, allEntries = true)
+    })
+    <S extends ProductModel> List<S> saveAll(Iterable<S> entities);
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#p0.idProduct"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCT_PAGES, allEntries = true)
+    })
+    void delete(ProductModel entity);
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCT_PAGES, allEntries = true)
+    })
+    void deleteAllByIdInBatch(Iterable<UUID> ids);
+
+    // -------------------- ESCRITAS EM UMA ÚNICA INSTRUÇÃO --------------------
+    // UPDATE/DELETE direto no banco, sem SELECT antes: o número de linhas afetadas diz se o produto existia
+    // (e, nas variantes IfVersion, se ainda estava na versão do If-Match). "update versioned" incrementa a
+    // versão; updatedAt é informado porque o @UpdateTimestamp não se aplica a comandos em massa.
+    // A versão do vendedor faz parte do ETag do produto, por isso também é conferida.
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#p0"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCT_PAGES, allEntries = true)
+    })
+    @Query("update versioned ProductModel p set p.name = :name, p.value = :value, p.vendedor = :vendedor, p.updatedAt = :now "
+            + "where p.idProduct = :id")
+    int updateProduct(UUID id, String name, BigDecimal value, VendedorModel vendedor, Instant now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#p0"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCT_PAGES, allEntries = true)
+    })
+    @Query("update versioned ProductModel p set p.name = :name, p.value = :value, p.vendedor = :vendedor, p.updatedAt = :now "
+            + "where p.idProduct = :id and p.version = :version "
+            + "and exists (select 1 from VendedorModel v where v.idVendedor = p.vendedor.idVendedor and v.version = :vendedorVersion)")
+    int updateProductIfVersion(UUID id, String name, BigDecimal value, VendedorModel vendedor, Instant now,
+                               long version, long vendedorVersion);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#p0"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCT_PAGES, allEntries = true)
+    })
+    @Query("delete from ProductModel p where p.idProduct = :id")
+    int deleteProduct(UUID id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#p0"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCT_PAGES, allEntries = true)
+    })
+    @Query("delete from ProductModel p where p.idProduct = :id and p.version = :version "
+            + "and exists (select 1 from VendedorModel v where v.idVendedor = p.vendedor.idVendedor and v.version = :vendedorVersion)")
+    int deleteProductIfVersion(UUID id, long version, long vendedorVersion);
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,78 @@
+package com.example.springboot.repositories;
+
+import com.example.springboot.dtos.ProductFilterDto;
+import com.example.springboot.models.ProductModel;
+import com.example.springboot.pagination.ProductSort;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Critérios (JPA Specification) da listagem filtrada de produtos. Cada filtro vira uma condição
+// no WHERE, então o banco usa os índices de TB_PRODUCTS e devolve só as linhas pedidas.
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    // Combina os filtros informados (os ausentes são ignorados)
+    public static Specification<ProductModel> matching(ProductFilterDto filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.vendedorId() != null) {
+                // Compara direto a chave estrangeira vendedor_id, sem JOIN
+                predicates.add(cb.equal(root.get("vendedor").get("idVendedor"), filter.vendedorId()));
+            }
+            if (filter.minValue() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("value"), filter.minValue()));
+            }
+            if (filter.maxValue() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("value"), filter.maxValue()));
+            }
+            if (filter.name() != null && !filter.name().isBlank()) {
+                // Busca por prefixo ("name LIKE 'abc%'"), que o índice de name consegue atender
+                predicates.add(cb.like(root.get("name"), escapeLike(filter.name()) + "%", '\\'));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    // Condição da paginação por chave: itens depois do último entregue, na ordem (atributo, ID)
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<ProductModel> after(ProductSort sort, UUID afterId, Comparable afterValue) {
+        return (root, query, cb) -> {
+            if (afterId == null) {
+                return null;
+            }
+            Path<UUID> id = root.get("idProduct");
+            if (sort.property() == null) {
+                return cb.greaterThan(id, afterId);
+            }
+            Path<Comparable> property = root.get(sort.property());
+            Predicate beyond = sort.isDescending()
+                    ? cb.lessThan(property, afterValue)
+                    : cb.greaterThan(property, afterValue);
+            return cb.or(beyond, cb.and(cb.equal(property, afterValue), cb.greaterThan(id, afterId)));
+        };
+    }
+
+    // Traz o vendedor no mesmo SELECT (JOIN FETCH), como o entity graph das consultas derivadas
+    public static Specification<ProductModel> fetchVendedor() {
+        return (root, query, cb) -> {
+            if (!Long.class.equals(query.getResultType())) {
+                root.fetch("vendedor");
+            }
+            return null;
+        };
+    }
+
+    // Escapa os curingas do LIKE digitados pelo cliente
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,13 +1,132 @@
 package com.example.springboot.repositories;
 
+import com.example.springboot.config.CacheConfig;
+import com.example.springboot.dtos.CollectionVersionDto;
+import com.example.springboot.dtos.EntityVersionDto;
+import com.example.springboot.dtos.VendedorDetailDto;
+import com.example.springboot.dtos.VendedorResponseDto;
 import com.example.springboot.models.VendedorModel;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface VendedorRepository extends JpaRepository<VendedorModel, UUID> { //
     // Interface que estende JpaRepository para operações CRUD em VendedorModel
     // O UUID é o tipo de dado usado como identificador único para os vendedores
-}
\ No newline at end of file
+    // As anotações de cache só têm efeito com loja.cache.enabled=true (ver CacheConfig)
+
+    // Leituras para exibição: projeções direto no registro da resposta, sem entidades gerenciadas
+    // (a lista de produtos do vendedor nunca é tocada) e imutáveis no cache
+
+    // Paginação por chave: primeira página, ordenada pelo ID
+    @Cacheable(cacheNames = CacheConfig.VENDEDOR_PAGES, key = "'first:' + #p0.max()")
+    @Query("select new com.example.springboot.dtos.VendedorResponseDto(v.idVendedor, v.nome, v.email) "
+            + "from VendedorModel v order by v.idVendedor")
+    List<VendedorResponseDto> findFirstPage(Limit limit);
+
+    // Paginação por chave: próximas páginas começam depois do último ID já entregue (sem OFFSET)
+    @Cacheable(cacheNames = CacheConfig.VENDEDOR_PAGES, key = "#p0 + ':' + #p1.max()")
+    @Query("select new com.example.springboot.dtos.VendedorResponseDto(v.idVendedor, v.nome, v.email) "
+            + "from VendedorModel v where v.idVendedor > :after order by v.idVendedor")
+    List<VendedorResponseDto> findPageAfter(UUID after, Limit limit);
+
+    // Leitura de um vendedor para exibição (pode vir do cache), com a versão do mesmo SELECT para o ETag;
+    // as escritas continuam usando findById
+    @Cacheable(cacheNames = CacheConfig.VENDEDORES, key = "#p0", unless = "#result == null")
+    @Query("select new com.example.springboot.dtos.VendedorDetailDto(v.idVendedor, v.nome, v.email, v.version, v.updatedAt) "
+            + "from VendedorModel v where v.idVendedor = :id")
+    Optional<VendedorDetailDto> findDetailByIdVendedor(UUID id);
+
+    // Versão do vendedor sem carregar a entidade (ETag / Last-Modified)
+    @Query("select new com.example.springboot.dtos.EntityVersionDto(v.version, v.updatedAt) "
+            + "from VendedorModel v where v.idVendedor = :id")
+    Optional<EntityVersionDto> findVersionByIdVendedor(UUID id);
+
+    // IDs de todos os vendedores, carregados uma única vez por importação de produtos
+    @Query("select v.idVendedor from VendedorModel v")
+    List<UUID> findAllIds();
+
+    // Agregado da mesma janela buscada pela paginação por chave (limit já inclui a linha extra)
+    @Query("select new com.example.springboot.dtos.CollectionVersionDto(count(*), sum(x.version), max(x.id), max(x.updatedAt)) "
+            + "from (select cast(v.idVendedor as String) as id, v.version as version, v.updatedAt as updatedAt "
+            + "from VendedorModel v "
+            + "where :after is null or v.idVendedor > :after order by v.idVendedor limit :limit) x")
+    CollectionVersionDto findPageVersion(UUID after, int limit);
+
+    // -------------------- ESCRITAS (removem do cache o que ficou desatualizado) --------------------
+    // Os produtos exibem os dados do vendedor e são apagados junto com ele (cascade),
+    // por isso alterar um vendedor também limpa os caches de produtos
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.VENDEDORES, key = "#p0.idVendedor", condition = "#p0.idVendedor != null"),
+            @CacheEvict(cacheNames = CacheConfig.VENDEDOR_PAGES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, allEntries = true, condition = "#p0.idVendedor != null"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCT_PAGES, allEntries = true, condition = "#p0.idVendedor != null")
+    })
+    <S extends VendedorModel> S save(S entity);
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.VENDEDORES, key = "#p0.idVendedor"),
+            @CacheEvict(cacheNames = CacheConfig.VENDEDOR_PAGES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCT_PAGES, allEntries = true)
+    })
+    void delete(VendedorModel entity);
+
+    // -------------------- ESCRITAS EM UMA ÚNICA INSTRUÇÃO --------------------
+    // UPDATE/DELETE direto no banco, sem SELECT antes; o número de linhas afetadas indica 404/412
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.VENDEDORES, key = "#p0"),
+            @CacheEvict(cacheNames = CacheConfig.VENDEDOR_PAGES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCT_PAGES, allEntries = true)
+    })
+    @Query("update versioned VendedorModel v set v.nome = :nome, v.email = :email, v.updatedAt = :now where v.idVendedor = :id")
+    int updateVendedor(UUID id, String nome, String email, Instant now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.VENDEDORES, key = "#p0"),
+            @CacheEvict(cacheNames = CacheConfig.VENDEDOR_PAGES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCT_PAGES, allEntries = true)
+    })
+    @Query("update versioned VendedorModel v set v.nome = :nome, v.email = :email, v.updatedAt = :now "
+            + "where v.idVendedor = :id and v.version = :version")
+    int updateVendedorIfVersion(UUID id, String nome, String email, Instant now, long version);
+
+    // Reserva o vendedor para a remoção em lotes: incrementa a versão se ela ainda for a do If-Match (0 linhas
+    // = versão diferente ou vendedor inexistente). Depois disso um PUT/DELETE com o ETag antigo recebe 412
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.VENDEDORES, key = "#p0"),
+            @CacheEvict(cacheNames = CacheConfig.VENDEDOR_PAGES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCT_PAGES, allEntries = true)
+    })
+    @Query("update versioned VendedorModel v set v.updatedAt = :now where v.idVendedor = :id and v.version = :version")
+    int claimVendedorIfVersion(UUID id, Instant now, long version);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.VENDEDORES, key = "#p0"),
+            @CacheEvict(cacheNames = CacheConfig.VENDEDOR_PAGES, allEntries = true)
+    })
+    @Query("delete from VendedorModel v where v.idVendedor = :id")
+    int deleteVendedor(UUID id);
+}
@@ -0,0 +1,88 @@
+package com.example.springboot.repositories;
+
+import com.example.springboot.dtos.VendedorStatsDto;
+import com.example.springboot.models.VendedorStatsModel;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface VendedorStatsRepository extends JpaRepository<VendedorStatsModel, UUID> {
+    // Quantidade e soma dos valores dos produtos por vendedor, de duas fontes:
+    // agregados com GROUP BY sobre TB_PRODUCTS (sempre corretos, custo proporcional aos produtos do vendedor)
+    // ou a tabela materializada TB_VENDEDOR_STATS (uma linha por vendedor, mantida pelo VendedorStatsService)
+
+    // -------------------- AGREGADOS SOBRE TB_PRODUCTS --------------------
+    // O LEFT JOIN mantém os vendedores sem produtos (quantidade 0); os produtos são lidos pelo índice
+    // idx_products_vendedor, sem carregar entidades
+
+    @Query("select new com.example.springboot.dtos.VendedorStatsDto(v.idVendedor, count(p), coalesce(sum(p.value), 0)) "
+            + "from VendedorModel v left join ProductModel p on p.vendedor = v "
+            + "where v.idVendedor = :id group by v.idVendedor")
+    Optional<VendedorStatsDto> aggregateByIdVendedor(UUID id);
+
+    // Paginação por chave sobre os vendedores, como em GET /vendedores
+    @Query("select new com.example.springboot.dtos.VendedorStatsDto(v.idVendedor, count(p), coalesce(sum(p.value), 0)) "
+            + "from VendedorModel v left join ProductModel p on p.vendedor = v "
+            + "group by v.idVendedor order by v.idVendedor")
+    List<VendedorStatsDto> aggregateFirstPage(Limit limit);
+
+    @Query("select new com.example.springboot.dtos.VendedorStatsDto(v.idVendedor, count(p), coalesce(sum(p.value), 0)) "
+            + "from VendedorModel v left join ProductModel p on p.vendedor = v "
+            + "where v.idVendedor > :after group by v.idVendedor order by v.idVendedor")
+    List<VendedorStatsDto> aggregatePageAfter(UUID after, Limit limit);
+
+    // -------------------- TABELA MATERIALIZADA --------------------
+
+    @Query("select new com.example.springboot.dtos.VendedorStatsDto(s.idVendedor, s.productCount, s.totalValue) "
+            + "from VendedorStatsModel s where s.idVendedor = :id")
+    Optional<VendedorStatsDto> findStatsByIdVendedor(UUID id);
+
+    @Query("select new com.example.springboot.dtos.VendedorStatsDto(s.idVendedor, s.productCount, s.totalValue) "
+            + "from VendedorStatsModel s order by s.idVendedor")
+    List<VendedorStatsDto> findFirstPage(Limit limit);
+
+    @Query("select new com.example.springboot.dtos.VendedorStatsDto(s.idVendedor, s.productCount, s.totalValue) "
+            + "from VendedorStatsModel s where s.idVendedor > :after order by s.idVendedor")
+    List<VendedorStatsDto> findPageAfter(UUID after, Limit limit);
+
+    // Linha zerada de um vendedor recém-criado (INSERT direto, sem o SELECT que o save faria por causa do ID atribuído)
+    @Modifying
+    @Query("insert into VendedorStatsModel (idVendedor, productCount, totalValue) values (:id, 0, 0)")
+    int insertEmpty(UUID id);
+
+    @Modifying
+    @Query("delete from VendedorStatsModel s where s.idVendedor = :id")
+    int deleteByVendedor(UUID id);
+
+    // Incrementos calculados pelo próprio banco a partir das linhas atuais de TB_PRODUCTS: "sign" = -1 retira
+    // os produtos informados do resumo de seus vendedores (antes de alterá-los ou removê-los), +1 devolve
+    // (depois de inseridos ou alterados). Só as linhas dos vendedores envolvidos são tocadas.
+    @Modifying
+    @Query("update VendedorStatsModel s "
+            + "set s.productCount = s.productCount + :sign * (select count(p) from ProductModel p "
+            + "        where p.vendedor.idVendedor = s.idVendedor and p.idProduct in :productIds), "
+            + "    s.totalValue = s.totalValue + :sign * (select coalesce(sum(p.value), 0) from ProductModel p "
+            + "        where p.vendedor.idVendedor = s.idVendedor and p.idProduct in :productIds) "
+            + "where s.idVendedor in (select p.vendedor.idVendedor from ProductModel p where p.idProduct in :productIds)")
+    int applyProducts(Collection<UUID> productIds, int sign);
+
+    // Recalcula a tabela inteira a partir de TB_PRODUCTS (na inicialização, com a tabela vazia)
+    @Modifying
+    @Query("insert into VendedorStatsModel (idVendedor, productCount, totalValue) "
+            + "select v.idVendedor, count(p), coalesce(sum(p.value), 0) "
+            + "from VendedorModel v left join ProductModel p on p.vendedor = v group by v.idVendedor")
+    int insertAllFromProducts();
+
+    @Modifying
+    @Query("delete from VendedorStatsModel s")
+    int deleteAllStats();
+}
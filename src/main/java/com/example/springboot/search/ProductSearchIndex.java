@@ -0,0 +1,393 @@
+package com.example.springboot.search;
+
+import com.example.springboot.dtos.ProductNameDto;
+import com.example.springboot.dtos.ProductSearchHitDto;
+import com.example.springboot.events.ProductChangedEvent;
+import com.example.springboot.repositories.ProductRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Índice invertido em memória sobre ProductModel.name: cada termo normalizado (sem acento, minúsculo)
+// aponta para os produtos que o contêm. A busca não consulta o banco; o índice é montado na subida
+// da aplicação e atualizado a cada ProductChangedEvent, depois do commit da transação.
+// Esses eventos são publicados só pelas escritas desta instância: com várias instâncias, o que as outras gravam
+// só aparece aqui na próxima montagem (o índice não lê o registro de alterações de TB_CHANGE_LOG).
+//
+// Cada produto indexado recebe um número sequencial (ordinal) e as listas de termos guardam apenas
+// esses ints, só com acréscimos no fim. Alterar ou remover um produto marca o ordinal antigo como
+// removido (o produto alterado ganha um novo ordinal); quando os removidos superam os ativos o
+// índice é recompactado. A busca lê as estruturas sem bloqueio e cruza os termos em bitsets,
+// sem acessar os produtos candidatos; só os que entram no resultado são lidos.
+@Component
+public class ProductSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Termos mais curtos que isso só casam por igualdade (um prefixo de 1 letra casaria com quase tudo)
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    // Peso de um termo que casa só pelo prefixo, em relação ao termo igual
+    private static final double PREFIX_WEIGHT = 0.5;
+
+    // Quantidade mínima de ordinais removidos antes de considerar uma recompactação
+    private static final int MIN_COMPACTION = 1024;
+
+    // Estado atual do índice; a recompactação troca a referência inteira
+    private volatile Segment segment = new Segment();
+
+    // Escritas serializadas entre si; as buscas nunca bloqueiam. ReentrantLock em vez de synchronized
+    // para não prender (pin) a thread de plataforma quando o evento chega em uma virtual thread
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Alterações recebidas enquanto rebuild() monta o índice novo (null fora da montagem); protegido por writeLock
+    private List<ProductChangedEvent> changedDuringRebuild;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    // -------------------- CARGA E ATUALIZAÇÃO --------------------
+
+    // Monta um índice novo lendo apenas ID e nome de todos os produtos, em streaming, e só então o publica.
+    // A leitura é um retrato do banco no início do SELECT: alterações confirmadas durante a montagem chegam
+    // como eventos, são guardadas e reaplicadas no índice novo antes da troca (sem isso um produto removido
+    // nesse meio-tempo voltaria a aparecer, e um criado poderia sumir, até a próxima alteração dele)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.nanoTime();
+        writeLock.lock();
+        try {
+            changedDuringRebuild = new ArrayList<>();
+        } finally {
+            writeLock.unlock();
+        }
+
+        Segment rebuilt = new Segment();
+        try {
+            try (Stream<ProductNameDto> names = productRepository.streamAllNames()) {
+                names.forEach(product -> rebuilt.add(product.idProduct(), product.name(), tokenize(product.name())));
+            }
+            writeLock.lock();
+            try {
+                changedDuringRebuild.forEach(event -> apply(rebuilt, event));
+                log.info("Índice de busca montado com {} produtos ({} alterações durante a montagem) em {} ms",
+                        rebuilt.ordinals.size(), changedDuringRebuild.size(), (System.nanoTime() - start) / 1_000_000);
+                segment = rebuilt;
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            writeLock.lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    // Aplica criações, alterações e remoções depois do commit (ou na hora, se não houver transação). É a única
+    // entrada de escrita no índice, para que toda alteração passe pela reaplicação durante rebuild()
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        writeLock.lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(event);
+            }
+            Segment current = segment;
+            apply(current, event);
+            compactIfNeeded(current);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Remove a versão anterior do produto e, se ele ainda existe, indexa o nome atual
+    private static void apply(Segment target, ProductChangedEvent event) {
+        target.remove(event.idProduct());
+        if (!event.deleted()) {
+            target.add(event.idProduct(), event.name(), tokenize(event.name()));
+        }
+    }
+
+    // Quantidade de produtos indexados
+    public int size() {
+        return segment.ordinals.size();
+    }
+
+    // Recria as estruturas só com os produtos ativos quando os ordinais removidos superam os ativos
+    private void compactIfNeeded(Segment current) {
+        int removed = current.size - current.ordinals.size();
+        if (removed < MIN_COMPACTION || removed < current.ordinals.size()) {
+            return;
+        }
+        Segment compacted = new Segment();
+        for (int ordinal = 0; ordinal < current.size; ordinal++) {
+            Document document = current.documents[ordinal];
+            if (document != null) {
+                compacted.add(document.id(), document.name(), document.terms());
+            }
+        }
+        segment = compacted;
+    }
+
+    // -------------------- BUSCA --------------------
+
+    // Busca os produtos que contêm todos os termos (igual ou por prefixo), ordenados por relevância.
+    // Cada termo vale log(1 + N/df) (termos raros pesam mais), reduzido pela metade quando casa só
+    // pelo prefixo; empates favorecem nomes mais curtos e, depois, os produtos indexados antes.
+    public List<ProductSearchHitDto> search(String query, int limit) {
+        Segment current = segment;
+        QueryTerm[] terms = Arrays.stream(tokenize(query)).distinct().map(current::match)
+                .sorted(Comparator.comparingLong(QueryTerm::documentFrequency))
+                .toArray(QueryTerm[]::new);
+        if (terms.length == 0 || limit <= 0 || terms[0].documentFrequency() == 0) {
+            return List.of();
+        }
+
+        // Lidos depois das listas de termos: todo ordinal já visto nelas existe nestes arrays
+        Document[] documents = current.documents;
+        int[] nameLengths = current.nameLengths;
+        double total = Math.max(1, current.ordinals.size());
+
+        // Interseção das listas de termos em bitsets (acesso sequencial aos ints, sem tocar nos produtos)
+        BitSet candidates = terms[0].matching(documents.length);
+        BitSet[] exact = new BitSet[terms.length];
+        double[] idf = new double[terms.length];
+        for (int t = 0; t < terms.length; t++) {
+            if (t > 0) {
+                candidates.and(terms[t].matching(documents.length));
+            }
+            exact[t] = terms[t].exactMatching(documents.length);
+            idf[t] = Math.log(1 + total / Math.max(1, terms[t].documentFrequency()));
+        }
+
+        TopHits top = new TopHits(limit, documents, nameLengths);
+        for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+            if (documents[ordinal] == null) {
+                continue; // Removido ou reindexado com outro ordinal
+            }
+            double score = 0;
+            for (int t = 0; t < terms.length; t++) {
+                boolean exactMatch = exact[t] == null ? terms[t].exactIndex() >= 0 : exact[t].get(ordinal);
+                score += idf[t] * (exactMatch ? 1.0 : PREFIX_WEIGHT);
+            }
+            top.offer(ordinal, score);
+        }
+        return top.toHits();
+    }
+
+    // -------------------- ESTRUTURAS INTERNAS --------------------
+
+    // Produto indexado; os termos são as mesmas instâncias das chaves do mapa de termos
+    private record Document(UUID id, String name, String[] terms) {
+    }
+
+    // Ordinais dos produtos que contêm um termo, em ordem crescente e só com acréscimos no fim
+    private static final class Postings {
+
+        private final String term;
+        private volatile int[] ordinals = new int[4];
+        private volatile int size;
+
+        Postings(String term) {
+            this.term = term;
+        }
+
+        void add(int ordinal) {
+            int[] current = ordinals;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, size * 2);
+                ordinals = current;
+            }
+            current[size] = ordinal;
+            size = size + 1; // Escrita volátil publica o novo elemento para as buscas
+        }
+    }
+
+    // Termo da consulta com um retrato (array e tamanho) das listas de termos que casam com ele;
+    // exactIndex aponta a lista do próprio termo (-1 se ele só aparece como prefixo de outros)
+    private record QueryTerm(String term, int[][] postings, int[] sizes, int exactIndex, long documentFrequency) {
+
+        // Produtos que têm o termo ou um termo que começa com ele
+        BitSet matching(int capacity) {
+            BitSet bits = new BitSet(capacity);
+            for (int p = 0; p < postings.length; p++) {
+                set(bits, p);
+            }
+            return bits;
+        }
+
+        // Produtos que têm exatamente o termo; null quando todos os que casam têm o mesmo peso
+        // (só a lista do próprio termo, ou nenhuma lista exata)
+        BitSet exactMatching(int capacity) {
+            if (exactIndex < 0 || postings.length == 1) {
+                return null;
+            }
+            BitSet bits = new BitSet(capacity);
+            set(bits, exactIndex);
+            return bits;
+        }
+
+        private void set(BitSet bits, int p) {
+            int[] ordinals = postings[p];
+            for (int i = 0; i < sizes[p]; i++) {
+                bits.set(ordinals[i]);
+            }
+        }
+    }
+
+    private static final class Segment {
+
+        // Termo → ordinais; o mapa é ordenado para que a busca por prefixo seja um subMap
+        private final ConcurrentSkipListMap<String, Postings> postings = new ConcurrentSkipListMap<>();
+
+        // ID do produto → ordinal atual
+        private final ConcurrentHashMap<UUID, Integer> ordinals = new ConcurrentHashMap<>();
+
+        // Ordinal → produto (null quando removido) e tamanho do nome, usado no desempate sem acessar o produto
+        private volatile Document[] documents = new Document[1024];
+        private volatile int[] nameLengths = new int[1024];
+        private volatile int size;
+
+        void add(UUID id, String name, String[] terms) {
+            int ordinal = size;
+            Document[] currentDocuments = documents;
+            int[] currentLengths = nameLengths;
+            if (ordinal == currentDocuments.length) {
+                currentDocuments = Arrays.copyOf(currentDocuments, ordinal * 2);
+                currentLengths = Arrays.copyOf(currentLengths, ordinal * 2);
+                documents = currentDocuments;
+                nameLengths = currentLengths;
+            }
+            String[] canonical = new String[terms.length];
+            for (int i = 0; i < terms.length; i++) {
+                canonical[i] = postings.computeIfAbsent(terms[i], Postings::new).term;
+            }
+            currentDocuments[ordinal] = new Document(id, name, canonical);
+            currentLengths[ordinal] = name == null ? 0 : name.length();
+            size = ordinal + 1;
+            for (String term : canonical) {
+                postings.get(term).add(ordinal);
+            }
+            ordinals.put(id, ordinal);
+        }
+
+        void remove(UUID id) {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal != null) {
+                documents[ordinal] = null;
+            }
+        }
+
+        QueryTerm match(String term) {
+            Collection<Postings> matches;
+            if (term.length() >= MIN_PREFIX_LENGTH) {
+                matches = postings.subMap(term, true, term + Character.MAX_VALUE, true).values();
+            } else {
+                Postings exact = postings.get(term);
+                matches = exact == null ? List.of() : List.of(exact);
+            }
+            List<int[]> arrays = new ArrayList<>();
+            List<Integer> sizes = new ArrayList<>();
+            int exactIndex = -1;
+            long documentFrequency = 0;
+            for (Postings posting : matches) {
+                int count = posting.size; // Tamanho lido antes do array: o array lido já contém esses elementos
+                if (posting.term.equals(term)) {
+                    exactIndex = arrays.size();
+                }
+                arrays.add(posting.ordinals);
+                sizes.add(count);
+                documentFrequency += count;
+            }
+            return new QueryTerm(term, arrays.toArray(int[][]::new), sizes.stream().mapToInt(Integer::intValue).toArray(),
+                    exactIndex, documentFrequency);
+        }
+    }
+
+    // Os "limit" melhores resultados em um heap com o pior no topo; só aloca quando um candidato entra
+    private static final class TopHits {
+
+        private final int limit;
+        private final Document[] documents;
+        private final int[] nameLengths;
+        private final PriorityQueue<Hit> heap;
+
+        private record Hit(int ordinal, int nameLength, double score) {
+        }
+
+        // Maior = melhor: pontuação, depois nome mais curto, depois ordinal menor (indexado antes)
+        private static final Comparator<Hit> RANKING = Comparator.comparingDouble(Hit::score)
+                .thenComparingInt(hit -> -hit.nameLength())
+                .thenComparingInt(hit -> -hit.ordinal());
+
+        TopHits(int limit, Document[] documents, int[] nameLengths) {
+            this.limit = limit;
+            this.documents = documents;
+            this.nameLengths = nameLengths;
+            this.heap = new PriorityQueue<>(limit + 1, RANKING);
+        }
+
+        void offer(int ordinal, double score) {
+            int nameLength = nameLengths[ordinal];
+            if (heap.size() == limit) {
+                Hit worst = heap.peek();
+                boolean better = score > worst.score()
+                        || (score == worst.score() && (nameLength < worst.nameLength()
+                        || (nameLength == worst.nameLength() && ordinal < worst.ordinal())));
+                if (!better) {
+                    return;
+                }
+                heap.poll();
+            }
+            heap.add(new Hit(ordinal, nameLength, score));
+        }
+
+        List<ProductSearchHitDto> toHits() {
+            List<Hit> hits = new ArrayList<>(heap);
+            hits.sort(RANKING.reversed());
+            List<ProductSearchHitDto> result = new ArrayList<>(hits.size());
+            for (Hit hit : hits) {
+                Document document = documents[hit.ordinal()];
+                if (document != null) {
+                    result.add(new ProductSearchHitDto(document.id(), document.name(), hit.score()));
+                }
+            }
+            return result;
+        }
+    }
+
+    // -------------------- NORMALIZAÇÃO --------------------
+
+    // "Pão de Açúcar" → ["pao", "de", "acucar"]: remove acentos, passa para minúsculas e separa nas pontuações
+    static String[] tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return Arrays.stream(SEPARATORS.split(normalized.toLowerCase(Locale.ROOT)))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+}
@@ -0,0 +1,433 @@
+package com.example.springboot.services;
+
+import com.example.springboot.dtos.ChangeEventDto;
+import com.example.springboot.repositories.ChangeLogRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Feed de alterações (GET /products/changes, Server-Sent Events) alimentado por TB_CHANGE_LOG.
+//
+// Uma única thread de despacho lê as linhas novas do registro (acordada logo após cada commit local e, a
+// cada loja.changes.poll-interval, para pegar escritas de outras instâncias) e as distribui para os inscritos.
+// Nenhuma conexão prende uma thread: cada inscrito é um SseEmitter (requisição assíncrona do servlet) com
+// uma fila limitada (loja.changes.buffer-size), esvaziada por uma tarefa de envio em virtual thread que só
+// existe enquanto há eventos; um cliente que não lê a conexão prende apenas a sua tarefa, não as dos outros.
+// Se a fila enche (rajada maior que ela ou cliente lento), o inscrito deixa de receber pela fila e
+// passa a ser alcançado pelo banco, a partir do último evento que recebeu; se continuar atrasado por mais de
+// loja.changes.slow-consumer-timeout, é desconectado. Ao reconectar (o EventSource do navegador faz isso
+// sozinho, enviando Last-Event-ID) ele recebe do banco o que perdeu.
+//
+// Ordem: as sequências são valores IDENTITY, atribuídos no INSERT que o ChangeLogWriter faz em beforeCommit,
+// e não no commit: duas transações concorrentes podem confirmar fora da ordem em que inseriram, e uma transação
+// que falha depois do INSERT deixa um buraco que nunca será preenchido. Um buraco segura o despacho até ser
+// preenchido ou até loja.changes.gap-timeout; assim nenhum evento é pulado por confirmar um pouco depois do
+// seguinte (o que confirmar só depois do prazo não chega às conexões abertas). O buraco pulado fica em
+// TB_CHANGE_LOG_GAP, e as outras instâncias (ou esta, depois de reiniciar) passam por ele sem esperar de novo.
+//
+// É um SmartLifecycle para encerrar as conexões antes do desligamento gracioso do servidor, que do contrário
+// esperaria até o fim do prazo por requisições SSE que nunca terminam.
+@Service
+public class ChangeFeedService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    // Linhas lidas por consulta, no despacho e no reenvio
+    private static final int READ_BATCH = 1000;
+
+    // Evento enviado quando o cursor pedido já foi apagado pela retenção: o cliente deve recarregar tudo
+    private static final String RESET = "reset";
+
+    // Leitura do despacho, via JDBC: roda após cada commit e a cada poll-interval, então não abre uma sessão
+    // do Hibernate nem entra nas estatísticas/métricas hibernate.* das requisições
+    private static final String SELECT_AFTER =
+            "select id_change, entity_type, entity_id, deleted, changed_at from tb_change_log where id_change > ? order by id_change limit ?";
+
+    // Buraco que começa na sequência e já foi pulado, por esta ou por outra instância, até pelo menos a segunda
+    private static final String SELECT_SKIPPED =
+            "select count(*) from tb_change_log_gap where first_sequence = ? and last_sequence >= ?";
+
+    private static final String INSERT_SKIPPED =
+            "insert into tb_change_log_gap (first_sequence, last_sequence, skipped_at) values (?, ?, ?)";
+
+    private static final RowMapper<ChangeEventDto> ROW_MAPPER = (rs, rowNum) -> new ChangeEventDto(
+            rs.getLong("id_change"),
+            rs.getString("entity_type"),
+            rs.getObject("entity_id", UUID.class),
+            rs.getBoolean("deleted"),
+            rs.getObject("changed_at", Timestamp.class).toInstant());
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate; // Transação da limpeza por retenção
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${loja.changes.buffer-size:1000}")
+    private int bufferSize;
+
+    @Value("${loja.changes.poll-interval:1s}")
+    private Duration pollInterval;
+
+    @Value("${loja.changes.gap-timeout:5s}")
+    private Duration gapTimeout;
+
+    @Value("${loja.changes.heartbeat-interval:15s}")
+    private Duration heartbeatInterval;
+
+    @Value("${loja.changes.retention:24h}")
+    private Duration retention;
+
+    @Value("${loja.changes.emitter-timeout:30m}")
+    private Duration emitterTimeout;
+
+    @Value("${loja.changes.slow-consumer-timeout:60s}")
+    private Duration slowConsumerTimeout;
+
+    private final CopyOnWriteArraySet<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+
+    // Despacho serializado; também protege a inscrição, para que nenhum evento caia entre o reenvio e a fila
+    private final ReentrantLock dispatchLock = new ReentrantLock();
+
+    // Última sequência já distribuída aos inscritos (-1 até a aplicação terminar de subir)
+    private volatile long dispatched = -1;
+
+    // Momento em que o buraco atual na sequência foi visto pela primeira vez (0 = sem buraco)
+    private long gapSince;
+
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+
+    private Counter slowConsumerDisconnects;
+
+    private ScheduledExecutorService dispatcher;
+
+    private ExecutorService writers;
+
+    // -------------------- CICLO DE VIDA --------------------
+
+    @Override
+    public void start() {
+        dispatched = changeLogRepository.findLatestSequence();
+        dispatcher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("change-feed-dispatch").daemon().factory());
+        writers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("change-feed-writer-", 0).factory());
+
+        dispatcher.scheduleWithFixedDelay(this::wake, pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        dispatcher.scheduleWithFixedDelay(this::heartbeat, heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+        dispatcher.scheduleWithFixedDelay(this::purge, 0, Math.max(1, retention.toMinutes() / 24), TimeUnit.MINUTES);
+
+        Gauge.builder("loja.changes.subscribers", subscribers, Set::size)
+                .description("Conexões abertas em GET /products/changes").register(meterRegistry);
+        slowConsumerDisconnects = Counter.builder("loja.changes.slow.disconnects")
+                .description("Inscritos desconectados por não acompanhar o feed").register(meterRegistry);
+        log.info("Feed de alterações iniciado a partir da sequência {}", dispatched);
+    }
+
+    // Fecha as conexões (os clientes reconectam em outra instância com Last-Event-ID) e para as threads
+    @Override
+    public void stop() {
+        if (dispatcher != null) {
+            dispatcher.shutdownNow();
+            writers.shutdownNow();
+            dispatcher = null;
+            writers = null;
+        }
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return dispatcher != null;
+    }
+
+    // Fase mais alta: para antes do servidor web (e de tudo o mais)
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE;
+    }
+
+    // -------------------- INSCRIÇÃO --------------------
+
+    // Abre uma conexão do feed. since = última sequência que o cliente já recebeu (null = só as próximas)
+    public SseEmitter subscribe(Long since) {
+        Subscriber subscriber = new Subscriber(new SseEmitter(emitterTimeout.toMillis()), bufferSize);
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(error -> subscribers.remove(subscriber));
+
+        dispatchLock.lock();
+        try {
+            // A partir daqui os eventos novos entram na fila; os anteriores (até "dispatched") vêm do banco
+            long current = Math.max(dispatched, 0);
+            subscriber.replayUntil = current;
+            subscriber.cursor = since == null ? current : since;
+            subscribers.add(subscriber);
+        } finally {
+            dispatchLock.unlock();
+        }
+
+        if (since != null && subscriber.cursor < subscriber.replayUntil) {
+            Long oldest = changeLogRepository.findOldestSequence();
+            if (oldest == null || since < oldest - 1) {
+                // Parte do que o cliente perdeu já foi apagada: ele precisa recarregar tudo
+                subscriber.reset = true;
+                subscriber.cursor = subscriber.replayUntil;
+            }
+        }
+        signal(subscriber);
+        return subscriber.emitter;
+    }
+
+    // -------------------- DESPACHO --------------------
+
+    // Pede um despacho (sem repetir se já houver um pendente); chamado após cada commit com alterações
+    public void wake() {
+        if (dispatcher != null && dispatchScheduled.compareAndSet(false, true)) {
+            dispatcher.execute(this::dispatch);
+        }
+    }
+
+    private void dispatch() {
+        dispatchScheduled.set(false);
+        dispatchLock.lock();
+        try {
+            while (true) {
+                List<ChangeEventDto> rows = jdbcTemplate.query(SELECT_AFTER, ROW_MAPPER, dispatched, READ_BATCH);
+                int delivered = 0;
+                for (ChangeEventDto row : rows) {
+                    if (row.sequence() != dispatched + 1 && !skipGap(row.sequence() - 1)) {
+                        break;
+                    }
+                    gapSince = 0;
+                    dispatched = row.sequence();
+                    delivered++;
+                    for (Subscriber subscriber : subscribers) {
+                        if (subscriber.laggingSince == 0 && !subscriber.queue.offer(row)) {
+                            // Fila cheia: daqui em diante o inscrito é alcançado pelo banco
+                            subscriber.laggingSince = System.nanoTime();
+                        }
+                    }
+                }
+                if (delivered > 0) {
+                    for (Subscriber subscriber : subscribers) {
+                        if (subscriber.laggingSince != 0) {
+                            subscriber.replayUntil = dispatched;
+                        }
+                        signal(subscriber);
+                    }
+                }
+                if (delivered < READ_BATCH) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha ao despachar o feed de alterações; nova tentativa em {}", pollInterval, e);
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    // Buraco (dispatched, last]: pula na hora se já foi pulado antes; senão espera até gap-timeout por uma
+    // transação que ainda não confirmou e registra o buraco ao pular
+    private boolean skipGap(long last) {
+        Integer skipped = jdbcTemplate.queryForObject(SELECT_SKIPPED, Integer.class, dispatched + 1, last);
+        if (skipped != null && skipped > 0) {
+            return true;
+        }
+        if (!gapExpired()) {
+            return false;
+        }
+        try {
+            jdbcTemplate.update(INSERT_SKIPPED, dispatched + 1, last, Timestamp.from(Instant.now()));
+        } catch (DuplicateKeyException e) {
+            // Outra instância registrou o mesmo buraco ao mesmo tempo
+        }
+        log.debug("Feed de alterações: sequências {} a {} puladas após {}", dispatched + 1, last, gapTimeout);
+        return true;
+    }
+
+    private boolean gapExpired() {
+        long now = System.nanoTime();
+        if (gapSince == 0) {
+            gapSince = now;
+            dispatcher.schedule(this::wake, gapTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            return false;
+        }
+        return now - gapSince >= gapTimeout.toNanos();
+    }
+
+    // Comentário SSE periódico: mantém a conexão aberta em proxies e revela clientes que já saíram.
+    // Também desconecta quem está atrasado há mais de slow-consumer-timeout
+    private void heartbeat() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long laggingSince = subscriber.laggingSince;
+            if (laggingSince != 0 && now - laggingSince > slowConsumerTimeout.toNanos()) {
+                disconnectSlow(subscriber);
+            } else {
+                subscriber.heartbeat = true;
+                signal(subscriber);
+            }
+        }
+    }
+
+    // O encerramento vai para uma virtual thread: complete() espera pelo envio em andamento (o emitter é
+    // sincronizado), que em um cliente parado pode não terminar, e a thread de despacho não pode ficar presa
+    private void disconnectSlow(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            slowConsumerDisconnects.increment();
+            log.debug("Inscrito do feed desconectado: atrasado há mais de {}", slowConsumerTimeout);
+            writers.execute(subscriber.emitter::complete);
+        }
+    }
+
+    // Apaga do registro o que passou do prazo de retenção
+    private void purge() {
+        try {
+            Instant before = Instant.now().minus(retention);
+            Integer deleted = transactionTemplate.execute(status -> {
+                changeLogRepository.deleteGapsOlderThan(before);
+                return changeLogRepository.deleteOlderThan(before);
+            });
+            if (deleted != null && deleted > 0) {
+                log.info("Registro de alterações: {} linhas anteriores a {} removidas", deleted, retention);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha ao aplicar a retenção do registro de alterações", e);
+        }
+    }
+
+    // -------------------- ENVIO --------------------
+
+    // Agenda o esvaziamento da fila do inscrito, no máximo uma tarefa por inscrito ao mesmo tempo
+    private void signal(Subscriber subscriber) {
+        if (writers != null && subscriber.draining.compareAndSet(false, true)) {
+            writers.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.reset) {
+                subscriber.reset = false;
+                subscriber.emitter.send(SseEmitter.event().name(RESET).data(subscriber.replayUntil));
+            }
+            do {
+                // Do banco: o que o cliente perdeu antes de se inscrever ou enquanto a fila estava cheia
+                // (inclui os eventos que ainda estão na fila, que então são pulados)
+                while (subscriber.cursor < subscriber.replayUntil) {
+                    List<ChangeEventDto> rows = changeLogRepository.findRange(subscriber.cursor, subscriber.replayUntil, Limit.of(READ_BATCH));
+                    if (rows.isEmpty()) {
+                        subscriber.cursor = subscriber.replayUntil;
+                    }
+                    for (ChangeEventDto row : rows) {
+                        send(subscriber, row);
+                    }
+                }
+                // Da fila: eventos despachados depois da inscrição
+                ChangeEventDto next;
+                while ((next = subscriber.queue.poll()) != null) {
+                    if (next.sequence() > subscriber.cursor) {
+                        send(subscriber, next);
+                    }
+                }
+            } while (subscriber.laggingSince != 0 && !caughtUp(subscriber));
+            if (subscriber.heartbeat) {
+                subscriber.heartbeat = false;
+                subscriber.emitter.send(SseEmitter.event().comment(""));
+            }
+        } catch (IOException | RuntimeException e) {
+            // Cliente desconectado, emitter já encerrado ou falha ao ler o reenvio
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (!subscriber.queue.isEmpty() && subscribers.contains(subscriber)) {
+            signal(subscriber);
+        }
+    }
+
+    // Inscrito atrasado que alcançou o último despacho volta a receber pela fila; sob o mesmo bloqueio do
+    // despacho, para que nenhum evento seja despachado entre a verificação e a troca
+    private boolean caughtUp(Subscriber subscriber) {
+        dispatchLock.lock();
+        try {
+            if (subscriber.cursor < subscriber.replayUntil) {
+                return false;
+            }
+            subscriber.laggingSince = 0;
+            return true;
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    private static void send(Subscriber subscriber, ChangeEventDto event) throws IOException {
+        subscriber.emitter.send(SseEmitter.event()
+                .id(Long.toString(event.sequence()))
+                .name(event.type())
+                .data(event, MediaType.APPLICATION_JSON));
+        subscriber.cursor = event.sequence();
+    }
+
+    // Uma conexão do feed: o emitter, a fila limitada e até onde o cliente já recebeu
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<ChangeEventDto> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        // Alterados só pela tarefa de envio (uma por vez) ou antes da primeira
+        private volatile long cursor;
+        private volatile long replayUntil;
+        private volatile boolean reset;
+        private volatile boolean heartbeat;
+
+        // Desde quando (System.nanoTime) o inscrito é alcançado pelo banco; 0 = recebendo pela fila
+        private volatile long laggingSince;
+
+        private Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+}
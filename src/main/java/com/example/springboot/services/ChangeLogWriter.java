@@ -0,0 +1,100 @@
+package com.example.springboot.services;
+
+import com.example.springboot.dtos.ChangeEventDto;
+import com.example.springboot.events.ProductChangedEvent;
+import com.example.springboot.events.VendedorChangedEvent;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Grava em TB_CHANGE_LOG cada ProductChangedEvent/VendedorChangedEvent, na transação em que foi publicado.
+// Os eventos da transação ficam acumulados e são inseridos em um único lote JDBC em beforeCommit. A sequência
+// (IDENTITY) é atribuída nesse INSERT, não no commit: adiar o INSERT encurta o intervalo entre reservar a
+// sequência e confirmá-la, então uma transação longa (ex.: um bloco da importação) não deixa um "buraco" aberto
+// durante todo o seu trabalho. O buraco ainda existe até o commit, e fica para sempre se a transação falhar
+// depois do INSERT (ex.: erro no próprio commit); o feed espera por ele até loja.changes.gap-timeout (ver
+// ChangeFeedService). Se a transação for desfeita antes, nada é gravado; depois do commit o feed é avisado.
+@Component
+public class ChangeLogWriter {
+
+    private static final String INSERT =
+            "insert into tb_change_log (entity_type, entity_id, deleted, changed_at) values (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate; // Usa a mesma conexão (e transação) do JpaTransactionManager
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    // Chamados de forma síncrona por quem publica, dentro da transação da escrita
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        record(new Change(ChangeEventDto.PRODUCT, event.idProduct(), event.deleted()));
+    }
+
+    @EventListener
+    public void onVendedorChanged(VendedorChangedEvent event) {
+        record(new Change(ChangeEventDto.VENDEDOR, event.idVendedor(), event.deleted()));
+    }
+
+    private void record(Change change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Publicado fora de uma transação: grava na hora
+            write(List.of(change));
+            changeFeedService.wake();
+            return;
+        }
+        pending().add(change);
+    }
+
+    // Alterações da transação atual; na primeira, registra a gravação antes do commit
+    private List<Change> pending() {
+        @SuppressWarnings("unchecked")
+        List<Change> changes = (List<Change>) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            List<Change> created = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write(created);
+                }
+
+                @Override
+                public void afterCommit() {
+                    changeFeedService.wake();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ChangeLogWriter.this);
+                }
+            });
+            changes = created;
+        }
+        return changes;
+    }
+
+    private void write(List<Change> changes) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT, changes, changes.size(), (statement, change) -> {
+            statement.setString(1, change.type());
+            statement.setObject(2, change.id());
+            statement.setBoolean(3, change.deleted());
+            statement.setTimestamp(4, now);
+        });
+    }
+
+    private record Change(String type, UUID id, boolean deleted) {
+    }
+}
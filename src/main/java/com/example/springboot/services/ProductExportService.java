@@ -0,0 +1,81 @@
+package com.example.springboot.services;
+
+import com.example.springboot.dtos.ProductExportDto;
+import com.example.springboot.models.ProductModel;
+import com.example.springboot.repositories.ProductRepository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Exportação do catálogo inteiro em NDJSON ou CSV, escrita direto na resposta enquanto as linhas chegam do banco.
+// Cada produto é convertido, escrito e desanexado do contexto de persistência, então a memória usada não
+// depende do tamanho do catálogo; o driver JDBC busca as linhas em blocos (fetch size da consulta).
+@Service
+public class ProductExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductExportService.class);
+
+    // Buffer de escrita: poucas chamadas ao OutputStream da resposta, sem acumular a resposta inteira
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Escreve todos os produtos em "out" e retorna quantos foram exportados. A transação (somente leitura)
+    // fica aberta enquanto o Stream é consumido, como exige a leitura em streaming
+    @Transactional(readOnly = true)
+    public long exportCatalog(ProductFileFormat format, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        long rows = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        ObjectWriter jsonWriter = objectMapper.writerFor(ProductExportDto.class);
+
+        if (format == ProductFileFormat.CSV) {
+            writer.write(ProductExportDto.CSV_HEADER);
+            writer.write('\n');
+        }
+
+        try (Stream<ProductModel> products = productRepository.streamAllForExport()) {
+            Iterator<ProductModel> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                ProductModel product = iterator.next();
+                ProductExportDto row = ProductExportDto.of(product);
+                writer.write(format == ProductFileFormat.CSV ? row.toCsvLine() : jsonWriter.writeValueAsString(row));
+                writer.write('\n');
+
+                // Já escrito: produto e vendedor saem do contexto de persistência
+                entityManager.detach(product);
+                entityManager.detach(product.getVendedor());
+                rows++;
+            }
+        }
+
+        writer.flush();
+        log.info("Catálogo exportado em {}: {} produtos em {} ms", format, rows, (System.nanoTime() - start) / 1_000_000);
+        return rows;
+    }
+}
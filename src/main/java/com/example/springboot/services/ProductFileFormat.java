@@ -0,0 +1,58 @@
+package com.example.springboot.services;
+
+import com.example.springboot.exceptions.InvalidFileFormatException;
+
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+// Formatos de arquivo de produtos: GET /products/export?format= e POST /products/import (pelo Content-Type)
+public enum ProductFileFormat {
+
+    NDJSON("ndjson", MediaType.APPLICATION_NDJSON, "products.ndjson"),
+    CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8), "products.csv");
+
+    private final String param;
+    private final MediaType mediaType;
+    private final String fileName;
+
+    ProductFileFormat(String param, MediaType mediaType, String fileName) {
+        this.param = param;
+        this.mediaType = mediaType;
+        this.fileName = fileName;
+    }
+
+    // Converte o parâmetro da URL; sem parâmetro exporta em NDJSON
+    public static ProductFileFormat fromParam(String format) {
+        if (format == null || format.isBlank()) {
+            return NDJSON;
+        }
+        return Arrays.stream(values())
+                .filter(value -> value.param.equalsIgnoreCase(format))
+                .findFirst()
+                .orElseThrow(() -> new InvalidFileFormatException(format,
+                        Arrays.stream(values()).map(value -> value.param).collect(Collectors.joining(", "))));
+    }
+
+    // Formato do corpo recebido na importação, pelo Content-Type (text/csv ou application/x-ndjson)
+    public static ProductFileFormat fromContentType(String contentType) {
+        MediaType received = contentType == null ? null : MediaType.parseMediaType(contentType);
+        return Arrays.stream(values())
+                .filter(value -> received != null && value.mediaType.isCompatibleWith(received))
+                .findFirst()
+                .orElseThrow(() -> new InvalidFileFormatException(contentType,
+                        Arrays.stream(values()).map(value -> value.mediaType.getType() + "/" + value.mediaType.getSubtype())
+                                .collect(Collectors.joining(", "))));
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    // Nome sugerido no Content-Disposition
+    public String fileName() {
+        return fileName;
+    }
+}
@@ -0,0 +1,343 @@
+package com.example.springboot.services;
+
+import com.example.springboot.dtos.ProductImportErrorDto;
+import com.example.springboot.dtos.ProductImportReportDto;
+import com.example.springboot.dtos.ProductRecordDto;
+import com.example.springboot.events.ProductChangedEvent;
+import com.example.springboot.exceptions.InvalidFileFormatException;
+import com.example.springboot.mappers.ProductMapper;
+import com.example.springboot.models.ProductModel;
+import com.example.springboot.repositories.ProductRepository;
+import com.example.springboot.repositories.VendedorRepository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Importação de arquivos grandes de produtos (CSV ou NDJSON). O corpo é lido linha a linha, sem ser guardado
+// inteiro em memória; cada registro é validado com as mesmas regras do ProductRecordDto e o vendedor é
+// conferido em um conjunto de IDs carregado uma única vez. Os registros válidos são gravados a cada
+// "commitInterval" linhas, cada bloco em sua própria transação, com INSERT em lotes JDBC.
+@Service
+public class ProductImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImportService.class);
+
+    // Buffer de leitura do corpo da requisição
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Colunas obrigatórias do CSV (as demais, como idProduct e vendedorNome da exportação, são ignoradas)
+    private static final String NAME = "name";
+    private static final String VALUE = "value";
+    private static final String VENDEDOR_ID = "vendedorId";
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private VendedorRepository vendedorRepository;
+
+    @Autowired
+    private Validator validator; // Aplica as validações do ProductRecordDto registro a registro
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate; // Uma transação por bloco de registros
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher; // Avisa o índice de busca após o commit de cada bloco
+
+    @Autowired
+    private ProductMapper productMapper; // Registro validado -> entidade, sem reflexão
+
+    @Autowired
+    private VendedorStatsService vendedorStatsService; // Resumo materializado por vendedor (quando habilitado)
+
+    // Registros válidos gravados por transação
+    @Value("${loja.import.commit-interval:5000}")
+    private int commitInterval;
+
+    // Quantidade máxima de linhas rejeitadas detalhadas no relatório (todas entram na contagem)
+    @Value("${loja.import.max-errors:1000}")
+    private int maxErrors;
+
+    public ProductImportReportDto importProducts(ProductFileFormat format, InputStream body) throws IOException {
+        long start = System.nanoTime();
+        Import state = new Import(new HashSet<>(vendedorRepository.findAllIds()));
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        if (format == ProductFileFormat.CSV) {
+            readCsv(reader, state);
+        } else {
+            readNdjson(reader, state);
+        }
+        commit(state);
+
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("Importação {}: {} registros, {} gravados, {} rejeitados em {} ms", format, state.total, state.imported,
+                state.failed, elapsedMillis);
+        return new ProductImportReportDto(state.total, state.imported, state.failed, elapsedMillis,
+                state.total * 1000 / elapsedMillis, state.errors, state.failed > state.errors.size());
+    }
+
+    // ======================= NDJSON =======================
+    // Um objeto JSON por linha; campos além de name, value e vendedorId são ignorados
+    private void readNdjson(BufferedReader reader, Import state) throws IOException {
+        ObjectReader jsonReader = objectMapper.readerFor(ProductRecordDto.class);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            ProductRecordDto dto;
+            try {
+                dto = jsonReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                state.total++;
+                reject(state, lineNumber, "JSON inválido: " + e.getOriginalMessage());
+                continue;
+            }
+            accept(state, lineNumber, dto);
+        }
+    }
+
+    // ======================= CSV =======================
+    // Primeira linha com os nomes das colunas (qualquer ordem); campos entre aspas seguem a RFC 4180
+    private void readCsv(BufferedReader reader, Import state) throws IOException {
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            return;
+        }
+        List<String> header = parseCsvRecord(headerLine);
+        int nameColumn = header.indexOf(NAME);
+        int valueColumn = header.indexOf(VALUE);
+        int vendedorColumn = header.indexOf(VENDEDOR_ID);
+        if (nameColumn < 0 || valueColumn < 0 || vendedorColumn < 0) {
+            throw new InvalidFileFormatException("O cabeçalho do CSV deve conter as colunas " + NAME + ", " + VALUE
+                    + " e " + VENDEDOR_ID + ".");
+        }
+
+        long lineNumber = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            long recordLine = ++lineNumber;
+
+            // Campo entre aspas com quebra de linha: o registro continua nas linhas seguintes
+            StringBuilder record = null;
+            while (hasOpenQuote(record == null ? line : record)) {
+                String next = reader.readLine();
+                if (next == null) {
+                    break;
+                }
+                if (record == null) {
+                    record = new StringBuilder(line);
+                }
+                record.append('\n').append(next);
+                lineNumber++;
+            }
+            String text = record == null ? line : record.toString();
+            if (text.isBlank()) {
+                continue;
+            }
+
+            List<String> fields = parseCsvRecord(text);
+            String name = field(fields, nameColumn);
+            String value = field(fields, valueColumn);
+            String vendedorId = field(fields, vendedorColumn);
+
+            // Conversão dos textos; campo vazio vira null e cai na validação de obrigatoriedade
+            BigDecimal parsedValue;
+            UUID parsedVendedorId;
+            try {
+                parsedValue = value == null ? null : new BigDecimal(value);
+            } catch (NumberFormatException e) {
+                state.total++;
+                reject(state, recordLine, VALUE + ": valor inválido: " + value);
+                continue;
+            }
+            try {
+                parsedVendedorId = vendedorId == null ? null : UUID.fromString(vendedorId);
+            } catch (IllegalArgumentException e) {
+                state.total++;
+                reject(state, recordLine, VENDEDOR_ID + ": ID inválido: " + vendedorId);
+                continue;
+            }
+            accept(state, recordLine, new ProductRecordDto(name, parsedValue, parsedVendedorId));
+        }
+    }
+
+    // Separa os campos de um registro CSV, removendo as aspas e desfazendo as aspas duplicadas
+    private static List<String> parseCsvRecord(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c != '\r') {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // Quantidade ímpar de aspas: o último campo ainda não foi fechado
+    private static boolean hasOpenQuote(CharSequence text) {
+        int quotes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return quotes % 2 != 0;
+    }
+
+    private static String field(List<String> fields, int column) {
+        if (column >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(column).strip();
+        return value.isEmpty() ? null : value;
+    }
+
+    // ======================= REGISTROS =======================
+    // Valida o registro e o acumula para o próximo bloco; grava o bloco ao atingir o commitInterval
+    private void accept(Import state, long line, ProductRecordDto dto) {
+        state.total++;
+        String violation = validate(dto);
+        if (violation != null) {
+            reject(state, line, violation);
+        } else if (!state.vendedores.contains(dto.vendedorId())) {
+            reject(state, line, "Vendedor não encontrado: " + dto.vendedorId());
+        } else {
+            state.pending.add(new PendingRecord(line, dto));
+            if (state.pending.size() >= commitInterval) {
+                commit(state);
+            }
+        }
+    }
+
+    // Grava os registros pendentes em uma transação. Se o bloco falhar no banco (ex.: vendedor removido
+    // durante a importação), todas as suas linhas são rejeitadas e a importação segue com o próximo bloco
+    private void commit(Import state) {
+        if (state.pending.isEmpty()) {
+            return;
+        }
+        List<PendingRecord> block = state.pending;
+        state.pending = new ArrayList<>(commitInterval);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<ProductModel> products = new ArrayList<>(block.size());
+                for (PendingRecord record : block) {
+                    ProductModel product = productMapper.toEntity(record.dto);
+                    product.setVendedor(vendedorRepository.getReferenceById(record.dto.vendedorId())); // Sem SELECT
+                    products.add(product);
+                }
+                productRepository.saveAll(products);
+                vendedorStatsService.afterProductsChange(products.stream().map(ProductModel::getIdProduct).toList());
+                products.forEach(product -> eventPublisher.publishEvent(ProductChangedEvent.saved(product)));
+
+                // Com open-in-view o contexto de persistência dura a requisição inteira: sem limpar, cada bloco
+                // acumularia as entidades dos anteriores (memória crescente e flush cada vez mais lento).
+                // O flush passa pelo repositório para que um erro do banco chegue traduzido em DataAccessException
+                productRepository.flush();
+                entityManager.clear();
+            });
+            state.imported += block.size();
+        } catch (DataAccessException e) {
+            log.warn("Bloco da importação rejeitado ({} registros a partir da linha {}): {}", block.size(),
+                    block.get(0).line, e.getMostSpecificCause().getMessage());
+            block.forEach(record -> reject(state, record.line, "Falha ao gravar o bloco: " + e.getMostSpecificCause().getMessage()));
+        }
+    }
+
+    private void reject(Import state, long line, String message) {
+        state.failed++;
+        if (state.errors.size() < maxErrors) {
+            state.errors.add(new ProductImportErrorDto(line, message));
+        }
+    }
+
+    // Mesmo formato de mensagem das operações em lote (campo: mensagem; ...)
+    private String validate(ProductRecordDto dto) {
+        if (dto == null) {
+            return "O registro não pode ser nulo";
+        }
+        Set<ConstraintViolation<ProductRecordDto>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    // Registro válido aguardando a gravação do bloco
+    private record PendingRecord(long line, ProductRecordDto dto) {
+    }
+
+    // Andamento de uma importação: contadores, rejeições e o bloco ainda não gravado
+    private static final class Import {
+
+        private final Set<UUID> vendedores;
+        private final List<ProductImportErrorDto> errors = new ArrayList<>();
+        private List<PendingRecord> pending = new ArrayList<>();
+        private long total;
+        private long imported;
+        private long failed;
+
+        private Import(Set<UUID> vendedores) {
+            this.vendedores = vendedores;
+        }
+    }
+}
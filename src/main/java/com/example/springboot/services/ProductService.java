@@ -0,0 +1,346 @@
+package com.example.springboot.services;
+
+import com.example.springboot.dtos.BatchItemResultDto;
+import com.example.springboot.dtos.BatchResultDto;
+import com.example.springboot.dtos.EntityVersionDto;
+import com.example.springboot.dtos.ProductBatchUpdateRecordDto;
+import com.example.springboot.dtos.ProductFilterDto;
+import com.example.springboot.dtos.ProductRecordDto;
+import com.example.springboot.events.ProductChangedEvent;
+import com.example.springboot.exceptions.BatchTooLargeException;
+import com.example.springboot.exceptions.InvalidCursorException;
+import com.example.springboot.mappers.ProductMapper;
+import com.example.springboot.models.ProductModel;
+import com.example.springboot.models.VendedorModel;
+import com.example.springboot.pagination.KeysetPagination;
+import com.example.springboot.pagination.ProductSort;
+import com.example.springboot.repositories.ProductRepository;
+import com.example.springboot.repositories.ProductSpecifications;
+import com.example.springboot.repositories.VendedorRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Listagem filtrada e regras de escrita em lote de produtos. Nas escritas em lote cada requisição é
+// processada em uma única transação, os vendedores referenciados são resolvidos com um único findAllById e os INSERT/UPDATE/DELETE
+// são enviados ao banco em lotes JDBC (hibernate.jdbc.batch_size + order_inserts/order_updates).
+@Service
+public class ProductService {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private VendedorRepository vendedorRepository;
+
+    @Autowired
+    private Validator validator; // Aplica as mesmas validações do @Valid, mas item a item
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher; // Eventos entregues ao índice de busca após o commit
+
+    @Autowired
+    private ProductMapper productMapper; // DTO -> entidade sem reflexão
+
+    @Autowired
+    private VendedorStatsService vendedorStatsService; // Resumo materializado por vendedor (quando habilitado)
+
+    // A cada "batchSize" itens o contexto de persistência é descarregado e limpo,
+    // mantendo a memória constante mesmo em lotes grandes
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}")
+    private int batchSize;
+
+    // Quantidade máxima de itens aceitos em uma única requisição de lote
+    @Value("${loja.batch.max-items:50000}")
+    private int maxItems;
+
+    // ======================= LISTAGEM FILTRADA =======================
+    // Página de produtos com filtros e ordenação aplicados no banco (WHERE/ORDER BY/LIMIT), já com
+    // os vendedores; devolve uma linha a mais que pageSize para indicar a existência de próxima página
+    @Transactional(readOnly = true)
+    public List<ProductModel> findPage(ProductFilterDto filter, ProductSort sort, String after, int pageSize) {
+        Specification<ProductModel> afterCursor;
+        if (sort == ProductSort.ID) {
+            afterCursor = ProductSpecifications.after(sort, KeysetPagination.decodeCursor(after), null);
+        } else {
+            KeysetPagination.SortedCursor cursor = KeysetPagination.decodeSortedCursor(after);
+            // Cursor de outra ordenação (ex.: gerado com sort=value e enviado com sort=-value): o valor não
+            // delimita esta ordem e a página pularia ou repetiria itens
+            if (cursor != null && !cursor.sort().equals(sort.param())) {
+                throw new InvalidCursorException(after);
+            }
+            afterCursor = cursor == null
+                    ? ProductSpecifications.after(sort, null, null)
+                    : ProductSpecifications.after(sort, cursor.id(), sort.parseCursorValue(cursor.value()));
+        }
+
+        Specification<ProductModel> specification = ProductSpecifications.matching(filter)
+                .and(afterCursor)
+                .and(ProductSpecifications.fetchVendedor());
+        return productRepository.findBy(specification, query -> query
+                .sortBy(sort.toSort())
+                .limit(pageSize + 1)
+                .all());
+    }
+
+    // ======================= UPDATE / DELETE UNITÁRIOS =======================
+    // Um único UPDATE/DELETE por requisição, sem SELECT antes. O vendedor é associado por referência
+    // (getReferenceById não consulta o banco); um vendedor inexistente é recusado pela chave estrangeira
+    // (DataIntegrityViolationException). Retornam a quantidade de linhas afetadas (0 ou 1).
+
+    @Transactional
+    public int updateProduct(UUID id, ProductRecordDto dto, EntityVersionDto expected) {
+        VendedorModel vendedor = vendedorRepository.getReferenceById(dto.vendedorId());
+        Instant now = Instant.now();
+        vendedorStatsService.beforeProductsChange(List.of(id));
+        int updated = expected == null
+                ? productRepository.updateProduct(id, dto.name(), dto.value(), vendedor, now)
+                : productRepository.updateProductIfVersion(id, dto.name(), dto.value(), vendedor, now,
+                        expected.version(), vendedorVersion(expected));
+        vendedorStatsService.afterProductsChange(List.of(id)); // Sem alteração, devolve os mesmos valores
+        if (updated > 0) {
+            eventPublisher.publishEvent(ProductChangedEvent.saved(id, dto.name()));
+        }
+        return updated;
+    }
+
+    @Transactional
+    public int deleteProduct(UUID id, EntityVersionDto expected) {
+        vendedorStatsService.beforeProductsChange(List.of(id));
+        int deleted = expected == null
+                ? productRepository.deleteProduct(id)
+                : productRepository.deleteProductIfVersion(id, expected.version(), vendedorVersion(expected));
+        if (deleted > 0) {
+            eventPublisher.publishEvent(ProductChangedEvent.deleted(id));
+        } else {
+            vendedorStatsService.afterProductsChange(List.of(id)); // Versão não conferiu: o produto continua
+        }
+        return deleted;
+    }
+
+    // O ETag do produto tem as duas versões ("produto.vendedor"); sem a do vendedor nunca coincide
+    private long vendedorVersion(EntityVersionDto expected) {
+        return expected.vendedorVersion() == null ? EntityVersionDto.NO_MATCH.vendedorVersion() : expected.vendedorVersion();
+    }
+
+    // ======================= CREATE =======================
+    // Grava um produto já associado ao vendedor e avisa o índice de busca (após o commit)
+    @Transactional
+    public ProductModel createProduct(ProductModel productModel) {
+        ProductModel saved = productRepository.save(productModel);
+        vendedorStatsService.afterProductsChange(List.of(saved.getIdProduct()));
+        eventPublisher.publishEvent(ProductChangedEvent.saved(saved));
+        return saved;
+    }
+
+    // ======================= CREATE EM LOTE =======================
+    @Transactional
+    public BatchResultDto createProducts(List<ProductRecordDto> dtos) {
+        checkSize(dtos);
+        BatchItemResultDto[] results = new BatchItemResultDto[dtos.size()];
+
+        // Valida cada item antes de qualquer acesso ao banco
+        for (int i = 0; i < dtos.size(); i++) {
+            String violation = validate(dtos.get(i));
+            if (violation != null) {
+                results[i] = failure(i, null, HttpStatus.BAD_REQUEST, violation);
+            }
+        }
+
+        // Todos os vendedores referenciados em uma única consulta
+        Map<UUID, VendedorModel> vendedores = findVendedores(dtos, results, ProductRecordDto::vendedorId);
+
+        // Grava os itens válidos em blocos: um saveAll por bloco (uma única invalidação dos caches de produtos,
+        // em vez de duas por item) e os INSERT em lote no flush
+        List<Integer> valid = pendingIndexes(results);
+        List<UUID> created = new ArrayList<>();
+        for (int start = 0; start < valid.size(); start += batchSize) {
+            List<Integer> chunk = valid.subList(start, Math.min(start + batchSize, valid.size()));
+            List<Integer> indexes = new ArrayList<>(chunk.size());
+            List<ProductModel> products = new ArrayList<>(chunk.size());
+            for (int i : chunk) {
+                ProductRecordDto dto = dtos.get(i);
+                VendedorModel vendedor = vendedores.get(dto.vendedorId());
+                if (vendedor == null) {
+                    results[i] = failure(i, null, HttpStatus.NOT_FOUND, "Vendedor não encontrado: " + dto.vendedorId());
+                    continue;
+                }
+                ProductModel productModel = productMapper.toEntity(dto);
+                productModel.setVendedor(vendedor);
+                indexes.add(i);
+                products.add(productModel);
+            }
+
+            productRepository.saveAll(products); // Os UUIDs são gerados aqui; os INSERT ficam para o flush em lote
+            for (int p = 0; p < products.size(); p++) {
+                ProductModel productModel = products.get(p);
+                int i = indexes.get(p);
+                eventPublisher.publishEvent(ProductChangedEvent.saved(productModel));
+                created.add(productModel.getIdProduct());
+                results[i] = new BatchItemResultDto(i, productModel.getIdProduct(), HttpStatus.CREATED.value(), null);
+            }
+            flushAndClear();
+        }
+        vendedorStatsService.afterProductsChange(created);
+
+        return BatchResultDto.of(Arrays.asList(results));
+    }
+
+    // ======================= UPDATE EM LOTE =======================
+    @Transactional
+    public BatchResultDto updateProducts(List<ProductBatchUpdateRecordDto> dtos) {
+        checkSize(dtos);
+        BatchItemResultDto[] results = new BatchItemResultDto[dtos.size()];
+
+        for (int i = 0; i < dtos.size(); i++) {
+            String violation = validate(dtos.get(i));
+            if (violation != null) {
+                results[i] = failure(i, dtos.get(i) == null ? null : dtos.get(i).idProduct(), HttpStatus.BAD_REQUEST, violation);
+            }
+        }
+
+        Map<UUID, VendedorModel> vendedores = findVendedores(dtos, results, ProductBatchUpdateRecordDto::vendedorId);
+
+        // Processa os itens válidos em blocos: um SELECT ... IN por bloco e os UPDATE em lote no flush
+        List<Integer> valid = pendingIndexes(results);
+        for (int start = 0; start < valid.size(); start += batchSize) {
+            List<Integer> chunk = valid.subList(start, Math.min(start + batchSize, valid.size()));
+            Map<UUID, ProductModel> products = productRepository
+                    .findAllById(chunk.stream().map(i -> dtos.get(i).idProduct()).collect(Collectors.toSet()))
+                    .stream()
+                    .collect(Collectors.toMap(ProductModel::getIdProduct, Function.identity()));
+
+            vendedorStatsService.beforeProductsChange(products.keySet());
+            List<ProductModel> updated = new ArrayList<>(chunk.size());
+            for (int i : chunk) {
+                ProductBatchUpdateRecordDto dto = dtos.get(i);
+                ProductModel productModel = products.get(dto.idProduct());
+                VendedorModel vendedor = vendedores.get(dto.vendedorId());
+                if (productModel == null) {
+                    results[i] = failure(i, dto.idProduct(), HttpStatus.NOT_FOUND, "Produto não encontrado.");
+                } else if (vendedor == null) {
+                    results[i] = failure(i, dto.idProduct(), HttpStatus.NOT_FOUND, "Vendedor não encontrado: " + dto.vendedorId());
+                } else {
+                    productModel.setName(dto.name());
+                    productModel.setValue(dto.value());
+                    productModel.setVendedor(vendedor);
+                    updated.add(productModel);
+                    eventPublisher.publishEvent(ProductChangedEvent.saved(productModel));
+                    results[i] = new BatchItemResultDto(i, dto.idProduct(), HttpStatus.OK.value(), null);
+                }
+            }
+            // As entidades já estão gerenciadas: o saveAll não gera SELECT extra e invalida os caches de produtos
+            productRepository.saveAll(updated);
+            vendedorStatsService.afterProductsChange(products.keySet());
+            flushAndClear();
+        }
+
+        return BatchResultDto.of(Arrays.asList(results));
+    }
+
+    // ======================= DELETE EM LOTE =======================
+    @Transactional
+    public BatchResultDto deleteProducts(List<UUID> ids) {
+        checkSize(ids);
+        BatchItemResultDto[] results = new BatchItemResultDto[ids.size()];
+
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) == null) {
+                results[i] = failure(i, null, HttpStatus.BAD_REQUEST, "O ID do produto é obrigatório");
+            }
+        }
+
+        // Para cada bloco: descobre quais IDs existem e remove todos com um único DELETE ... IN
+        List<Integer> valid = pendingIndexes(results);
+        for (int start = 0; start < valid.size(); start += batchSize) {
+            List<Integer> chunk = valid.subList(start, Math.min(start + batchSize, valid.size()));
+            Set<UUID> existing = new HashSet<>(productRepository.findExistingIds(chunk.stream().map(ids::get).toList()));
+            vendedorStatsService.beforeProductsChange(existing);
+            productRepository.deleteAllByIdInBatch(existing);
+            existing.forEach(id -> eventPublisher.publishEvent(ProductChangedEvent.deleted(id)));
+
+            for (int i : chunk) {
+                UUID id = ids.get(i);
+                results[i] = existing.contains(id)
+                        ? new BatchItemResultDto(i, id, HttpStatus.NO_CONTENT.value(), null)
+                        : failure(i, id, HttpStatus.NOT_FOUND, "Produto não encontrado.");
+            }
+        }
+
+        return BatchResultDto.of(Arrays.asList(results));
+    }
+
+    // -------------------- MÉTODOS AUXILIARES --------------------
+
+    private void checkSize(List<?> items) {
+        if (items.size() > maxItems) {
+            throw new BatchTooLargeException(items.size(), maxItems);
+        }
+    }
+
+    // Retorna as mensagens de validação do item no formato "campo: mensagem", ou null se for válido
+    private String validate(Object dto) {
+        if (dto == null) {
+            return "O item não pode ser nulo";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    // Resolve, em uma única consulta, todos os vendedores referenciados pelos itens ainda válidos
+    private <T> Map<UUID, VendedorModel> findVendedores(List<T> dtos, BatchItemResultDto[] results, Function<T, UUID> vendedorId) {
+        Set<UUID> ids = pendingIndexes(results).stream()
+                .map(i -> vendedorId.apply(dtos.get(i)))
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return vendedorRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(VendedorModel::getIdVendedor, Function.identity()));
+    }
+
+    // Índices dos itens que ainda não receberam resultado (ou seja, passaram nas validações anteriores)
+    private List<Integer> pendingIndexes(BatchItemResultDto[] results) {
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                indexes.add(i);
+            }
+        }
+        return indexes;
+    }
+
+    private BatchItemResultDto failure(int index, UUID id, HttpStatus status, String message) {
+        return new BatchItemResultDto(index, id, status.value(), message);
+    }
+
+    // Envia os comandos pendentes em lote e libera as entidades já gravadas da memória
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
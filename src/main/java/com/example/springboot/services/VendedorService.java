@@ -0,0 +1,236 @@
+package com.example.springboot.services;
+
+import com.example.springboot.dtos.EntityVersionDto;
+import com.example.springboot.dtos.VendedorDeletionStatusDto;
+import com.example.springboot.dtos.VendedorRecordDto;
+import com.example.springboot.events.ProductChangedEvent;
+import com.example.springboot.events.VendedorChangedEvent;
+import com.example.springboot.models.VendedorModel;
+import com.example.springboot.repositories.ProductRepository;
+import com.example.springboot.repositories.VendedorRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Escritas de vendedores sem carregar o vendedor nem seus produtos como entidades.
+// Os métodos retornam a quantidade de linhas afetadas (0 ou 1); o controller decide entre 404 e 412.
+@Service
+public class VendedorService {
+
+    private static final Logger log = LoggerFactory.getLogger(VendedorService.class);
+
+    @Autowired
+    private VendedorRepository vendedorRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher; // Avisa o índice de busca e o registro de alterações
+
+    @Autowired
+    private TransactionTemplate transactionTemplate; // Uma transação curta por lote de produtos removidos
+
+    @Autowired
+    private VendedorStatsService vendedorStatsService; // Resumo materializado por vendedor (quando habilitado)
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor taskExecutor; // Executa as remoções assíncronas (threads virtuais no perfil "virtual")
+
+    // Quantidade de produtos removidos por DELETE/transação ao remover um vendedor
+    @Value("${loja.vendedores.delete-chunk-size:1000}")
+    private int deleteChunkSize;
+
+    // Situações de uma remoção assíncrona (ver VendedorDeletionStatusDto)
+    private static final String RUNNING = "RUNNING";
+    private static final String DONE = "DONE";
+    private static final String FAILED = "FAILED";
+
+    // Menor UUID possível: ponto de partida da leitura dos IDs por ordem crescente
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    // Progresso registrado no log a cada tantos lotes
+    private static final int PROGRESS_EVERY_CHUNKS = 10;
+
+    private static final Duration FINISHED_JOB_TTL = Duration.ofHours(1);
+
+    // Remoções assíncronas em andamento ou terminadas recentemente, por jobId
+    private final Map<UUID, DeletionJob> deletionJobs = new ConcurrentHashMap<>();
+
+    // ======================= CREATE =======================
+    @Transactional
+    public VendedorModel createVendedor(VendedorModel vendedorModel) {
+        VendedorModel saved = vendedorRepository.save(vendedorModel);
+        vendedorStatsService.vendedorCreated(saved.getIdVendedor());
+        eventPublisher.publishEvent(VendedorChangedEvent.saved(saved.getIdVendedor()));
+        return saved;
+    }
+
+    // ======================= UPDATE =======================
+    @Transactional
+    public int updateVendedor(UUID id, VendedorRecordDto dto, EntityVersionDto expected) {
+        Instant now = Instant.now();
+        int updated = expected == null
+                ? vendedorRepository.updateVendedor(id, dto.nome(), dto.email(), now)
+                : vendedorRepository.updateVendedorIfVersion(id, dto.nome(), dto.email(), now, expected.version());
+        if (updated > 0) {
+            eventPublisher.publishEvent(VendedorChangedEvent.saved(id));
+        }
+        return updated;
+    }
+
+    // ======================= DELETE =======================
+    // Os produtos são removidos em lotes de "deleteChunkSize", cada lote em sua própria transação curta:
+    // nenhum produto é carregado como entidade e nenhuma transação segura milhares de linhas bloqueadas.
+    // O If-Match é conferido uma única vez, antes do primeiro lote, por um UPDATE condicional que incrementa a
+    // versão (claim): se a versão não confere nada foi alterado (412). Depois dele a remoção vai até o fim, e
+    // quem tentar alterar o vendedor com o ETag antigo no meio dela recebe 412.
+    public int deleteVendedor(UUID id, EntityVersionDto expected) {
+        if (!claim(id, expected)) {
+            return 0;
+        }
+        return deleteInChunks(id, new AtomicLong());
+    }
+
+    // Mesma remoção, executada em segundo plano depois do claim; retorna vazio se o vendedor não existe ou a
+    // versão não confere (e então nada foi alterado)
+    public Optional<VendedorDeletionStatusDto> startDeletion(UUID id, EntityVersionDto expected) {
+        if (!claim(id, expected)) {
+            return Optional.empty();
+        }
+        removeFinishedJobs();
+
+        DeletionJob job = new DeletionJob(UUID.randomUUID(), id);
+        deletionJobs.put(job.jobId, job);
+        taskExecutor.execute(() -> {
+            try {
+                deleteInChunks(id, job.productsDeleted);
+                job.finish(DONE);
+            } catch (RuntimeException e) {
+                log.error("Falha ao remover o vendedor {}", id, e);
+                job.finish(FAILED);
+            }
+        });
+        return Optional.of(job.toDto());
+    }
+
+    // Situação de uma remoção assíncrona (vazio se o ID não existe ou já expirou)
+    public Optional<VendedorDeletionStatusDto> findDeletion(UUID jobId) {
+        return Optional.ofNullable(deletionJobs.get(jobId)).map(DeletionJob::toDto);
+    }
+
+    // Sem If-Match basta o vendedor existir; com If-Match, a versão é incrementada se ainda for a esperada
+    private boolean claim(UUID id, EntityVersionDto expected) {
+        if (expected == null) {
+            return vendedorRepository.existsById(id);
+        }
+        return transactionTemplate.execute(status ->
+                vendedorRepository.claimVendedorIfVersion(id, Instant.now(), expected.version())) > 0;
+    }
+
+    // Remove os produtos lote a lote e por fim o vendedor; retorna 0 se o vendedor já tinha sido removido
+    // por outra requisição
+    private int deleteInChunks(UUID id, AtomicLong productsDeleted) {
+        long start = System.nanoTime();
+        log.info("Removendo os produtos do vendedor {} em lotes de {}", id, deleteChunkSize);
+
+        UUID after = FIRST_ID;
+        int chunks = 0;
+        while (true) {
+            UUID from = after;
+            List<UUID> ids = transactionTemplate.execute(status -> deleteChunk(id, from, Limit.of(deleteChunkSize)));
+            if (ids.isEmpty()) {
+                break;
+            }
+            after = ids.get(ids.size() - 1);
+            long total = productsDeleted.addAndGet(ids.size());
+            if (++chunks % PROGRESS_EVERY_CHUNKS == 0) {
+                log.info("Vendedor {}: {} produtos removidos em {} ms", id, total, elapsedMillis(start));
+            }
+        }
+
+        // Transação final: produtos criados durante a remoção (se houver) e o próprio vendedor
+        int deleted = transactionTemplate.execute(status -> {
+            List<UUID> late = deleteChunk(id, FIRST_ID, Limit.unlimited());
+            productsDeleted.addAndGet(late.size());
+            int rows = vendedorRepository.deleteVendedor(id);
+            if (rows > 0) {
+                vendedorStatsService.vendedorDeleted(id);
+                eventPublisher.publishEvent(VendedorChangedEvent.deleted(id));
+            }
+            return rows;
+        });
+
+        log.info("Vendedor {} {}: {} produtos removidos em {} ms", id, deleted > 0 ? "removido" : "já removido",
+                productsDeleted.get(), elapsedMillis(start));
+        return deleted;
+    }
+
+    // Um lote: IDs pelo índice do vendedor, um DELETE ... WHERE id IN (...) e os eventos para o índice de busca
+    // (entregues após o commit da transação do lote)
+    private List<UUID> deleteChunk(UUID vendedorId, UUID after, Limit limit) {
+        List<UUID> ids = productRepository.findIdsOfVendedorAfter(vendedorId, after, limit);
+        if (!ids.isEmpty()) {
+            vendedorStatsService.beforeProductsChange(ids);
+            productRepository.deleteAllByIdInBatch(ids);
+            ids.forEach(productId -> eventPublisher.publishEvent(ProductChangedEvent.deleted(productId)));
+        }
+        return ids;
+    }
+
+    // Remoções assíncronas terminadas há mais de uma hora deixam de ser consultáveis
+    private void removeFinishedJobs() {
+        Instant limit = Instant.now().minus(FINISHED_JOB_TTL);
+        deletionJobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(limit));
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    // Estado mutável de uma remoção assíncrona; o contador é atualizado a cada lote
+    private static final class DeletionJob {
+
+        private final UUID jobId;
+        private final UUID vendedorId;
+        private final Instant startedAt = Instant.now();
+        private final AtomicLong productsDeleted = new AtomicLong();
+        private volatile String status = RUNNING;
+        private volatile Instant finishedAt;
+
+        private DeletionJob(UUID jobId, UUID vendedorId) {
+            this.jobId = jobId;
+            this.vendedorId = vendedorId;
+        }
+
+        private void finish(String finalStatus) {
+            status = finalStatus;
+            finishedAt = Instant.now();
+        }
+
+        private VendedorDeletionStatusDto toDto() {
+            return new VendedorDeletionStatusDto(jobId, vendedorId, status, productsDeleted.get(), startedAt, finishedAt);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.springboot.services;
+
+import com.example.springboot.dtos.VendedorStatsDto;
+import com.example.springboot.repositories.ProductRepository;
+import com.example.springboot.repositories.VendedorStatsRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Quantidade de produtos, soma e média dos valores por vendedor, sem carregar produtos.
+// Por padrão cada leitura é um agregado (GROUP BY) sobre TB_PRODUCTS. Com loja.vendedores.stats.materialized=true
+// as leituras vêm de TB_VENDEDOR_STATS (uma linha por vendedor, custo constante mesmo com catálogos enormes),
+// recalculada na inicialização (antes do servidor web aceitar requisições) e mantida por incrementos dentro da mesma transação de cada escrita de produto:
+//   beforeProductsChange(ids) -> bloqueia os produtos e retira seus valores atuais do resumo
+//   (INSERT/UPDATE/DELETE dos produtos)
+//   afterProductsChange(ids)  -> soma de volta os valores que os produtos têm agora (os removidos não contam)
+// Com o recurso desligado esses métodos não fazem nada.
+@Service
+public class VendedorStatsService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(VendedorStatsService.class);
+
+    // IDs por comando de incremento (limita o tamanho da lista do IN)
+    private static final int IDS_PER_STATEMENT = 1000;
+
+    @Autowired
+    private VendedorStatsRepository vendedorStatsRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate; // Transação do recálculo na inicialização
+
+    @Value("${loja.vendedores.stats.materialized:false}")
+    private boolean materialized;
+
+    // Recalcula a tabela ao subir. Com várias instâncias deve ser false: o recálculo de uma instância que reinicia
+    // apagaria e regravaria as linhas que as outras estão incrementando
+    @Value("${loja.vendedores.stats.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    // ======================= LEITURAS =======================
+
+    @Transactional(readOnly = true)
+    public Optional<VendedorStatsDto> findStats(UUID vendedorId) {
+        return materialized
+                ? vendedorStatsRepository.findStatsByIdVendedor(vendedorId)
+                : vendedorStatsRepository.aggregateByIdVendedor(vendedorId);
+    }
+
+    // Uma página de vendedores (ordem de ID) com uma linha a mais para indicar a próxima página
+    @Transactional(readOnly = true)
+    public List<VendedorStatsDto> findPage(UUID after, Limit limit) {
+        if (materialized) {
+            return after == null ? vendedorStatsRepository.findFirstPage(limit) : vendedorStatsRepository.findPageAfter(after, limit);
+        }
+        return after == null ? vendedorStatsRepository.aggregateFirstPage(limit) : vendedorStatsRepository.aggregatePageAfter(after, limit);
+    }
+
+    // ======================= MANUTENÇÃO DA TABELA MATERIALIZADA =======================
+    // Executados na transação de quem grava (MANDATORY: falham se chamados fora de uma)
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void vendedorCreated(UUID vendedorId) {
+        if (materialized) {
+            vendedorStatsRepository.insertEmpty(vendedorId);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void vendedorDeleted(UUID vendedorId) {
+        if (materialized) {
+            vendedorStatsRepository.deleteByVendedor(vendedorId);
+        }
+    }
+
+    // Antes de alterar ou remover produtos existentes: o bloqueio garante que os valores retirados do resumo
+    // são os que a própria transação vai substituir
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void beforeProductsChange(Collection<UUID> productIds) {
+        if (!materialized || productIds.isEmpty()) {
+            return;
+        }
+        for (List<UUID> chunk : chunks(productIds)) {
+            productRepository.lockByIds(chunk);
+            vendedorStatsRepository.applyProducts(chunk, -1);
+        }
+    }
+
+    // Depois de inserir, alterar ou tentar remover produtos; as alterações pendentes vão antes para o banco,
+    // já que o incremento é calculado lá
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void afterProductsChange(Collection<UUID> productIds) {
+        if (!materialized || productIds.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        for (List<UUID> chunk : chunks(productIds)) {
+            vendedorStatsRepository.applyProducts(chunk, 1);
+        }
+    }
+
+    // Recalcula a tabela a partir de TB_PRODUCTS ao subir a aplicação (inclui vendedores e produtos gravados
+    // enquanto o recurso estava desligado). Roda depois da criação dos beans e antes do início do servidor web
+    // (que é iniciado no fim do refresh do contexto): nenhuma escrita pode confirmar um incremento sobre as linhas
+    // que o recálculo está apagando e regravando a partir de um retrato anterior
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (materialized && rebuildOnStartup) {
+            transactionTemplate.executeWithoutResult(status -> recalculate());
+        }
+    }
+
+    // Recálculo sob demanda; só é seguro sem escritas de produtos em andamento (pelo mesmo motivo)
+    @Transactional
+    public void rebuild() {
+        if (materialized) {
+            recalculate();
+        }
+    }
+
+    private void recalculate() {
+        long start = System.currentTimeMillis();
+        vendedorStatsRepository.deleteAllStats();
+        int rows = vendedorStatsRepository.insertAllFromProducts();
+        log.info("Resumo de produtos por vendedor recalculado: {} vendedores em {} ms", rows, System.currentTimeMillis() - start);
+    }
+
+    private static List<List<UUID>> chunks(Collection<UUID> ids) {
+        List<UUID> all = ids instanceof List<UUID> list ? list : new ArrayList<>(ids);
+        List<List<UUID>> chunks = new ArrayList<>();
+        for (int start = 0; start < all.size(); start += IDS_PER_STATEMENT) {
+            chunks.add(all.subList(start, Math.min(start + IDS_PER_STATEMENT, all.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.springboot.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Ajuste do limite pela latência: cresce enquanto não há fila, encolhe quando a latência sobe ou há falhas,
+// sempre entre o mínimo e o máximo
+class ConcurrencyLimiterTests {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final ConcurrencyLimiter limiter = new ConcurrencyLimiter(20, 4, 100, 0.9, 2000 * MS, 1000);
+
+    @Test
+    void rejectsWhenTheLimitIsInUse() {
+        for (int i = 0; i < 20; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.inFlight()).isEqualTo(20);
+        assertThat(limiter.rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void growsWhileLatencyStaysAtTheBaseline() {
+        for (int i = 0; i < 50; i++) {
+            sample(10 * MS, limiter.limit());
+        }
+        assertThat(limiter.limit()).isEqualTo(100);
+    }
+
+    @Test
+    void doesNotGrowWithoutLoad() {
+        for (int i = 0; i < 50; i++) {
+            sample(10 * MS, 1);
+        }
+        assertThat(limiter.limit()).isEqualTo(20);
+    }
+
+    @Test
+    void shrinksWhenRequestsQueue() {
+        sample(10 * MS, 20);
+        int before = limiter.limit();
+        // Latência cinco vezes a de referência: a maior parte das requisições em andamento está esperando.
+        // O limite desce até a fila estimada (80% dele) ficar abaixo do limiar de 6 * log10(limite)
+        for (int i = 0; i < 50; i++) {
+            sample(50 * MS, limiter.limit());
+        }
+        assertThat(limiter.limit()).isLessThan(before).isLessThan(8);
+    }
+
+    @Test
+    void backsOffOnFailuresAndSlowRequests() {
+        limiter.tryAcquire();
+        limiter.release(10 * MS, 20, true);
+        assertThat(limiter.limit()).isEqualTo(18);
+
+        limiter.tryAcquire();
+        limiter.release(3000 * MS, 18, false);
+        assertThat(limiter.limit()).isEqualTo(16);
+    }
+
+    private void sample(long latencyNanos, int inFlightAtStart) {
+        assertThat(limiter.tryAcquire()).isTrue();
+        limiter.release(latencyNanos, inFlightAtStart, false);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.springboot.config;
+
+import com.example.springboot.admission.AdmissionControlInterceptor;
+import com.example.springboot.admission.ConcurrencyLimiter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Garante que, sem vaga no limitador, a requisição é recusada com 503 e Retry-After pelo GlobalExceptionHandler,
+// que leituras e escritas têm limites independentes e que requisições malformadas não reduzem o limite
+@SpringBootTest(properties = {
+        "loja.admission.enabled=true",
+        "loja.admission.reads.initial-limit=4",
+        "loja.admission.reads.max-limit=4",
+        "loja.admission.retry-after=3s"
+})
+@AutoConfigureMockMvc
+class AdmissionControlConfigTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AdmissionControlInterceptor admissionControlInterceptor;
+
+    // Vagas ocupadas pelo teste, como se fossem requisições em andamento
+    private final List<ConcurrencyLimiter> held = new ArrayList<>();
+
+    @AfterEach
+    void releaseHeld() {
+        held.forEach(ConcurrencyLimiter::releaseWithoutSample);
+        held.clear();
+    }
+
+    @Test
+    void readsOverTheLimitFailFastWithRetryAfter() throws Exception {
+        ConcurrencyLimiter reads = admissionControlInterceptor.reads();
+        fill(reads);
+        long rejectedBefore = reads.rejected();
+
+        mockMvc.perform(get("/products"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "3"))
+                .andExpect(jsonPath("$.status").value(503))
+                .andExpect(jsonPath("$.path").value("/products"));
+        assertThat(reads.rejected()).isEqualTo(rejectedBefore + 1);
+
+        // O limite de escritas é outro
+        mockMvc.perform(post("/vendedores").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Vendedor\",\"email\":\"vendedor@teste.com\"}"))
+                .andExpect(status().isCreated());
+
+        releaseHeld();
+        mockMvc.perform(get("/products")).andExpect(status().isOk());
+        assertThat(reads.inFlight()).isZero();
+    }
+
+    // Requisição malformada é erro do cliente (4xx): não é amostra de falha e não derruba o limite
+    @Test
+    void malformedRequestsAreClientErrorsAndKeepTheLimit() throws Exception {
+        ConcurrencyLimiter writes = admissionControlInterceptor.writes();
+        int limitBefore = writes.limit();
+
+        mockMvc.perform(post("/products/import").header(HttpHeaders.CONTENT_TYPE, "text/csv; boundary=a@b"))
+                .andExpect(status().isUnsupportedMediaType())
+                .andExpect(jsonPath("$.status").value(415));
+        mockMvc.perform(post("/products").contentType(MediaType.APPLICATION_JSON).content("{\"name\":"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+        mockMvc.perform(delete("/products"))
+                .andExpect(status().isMethodNotAllowed())
+                .andExpect(header().exists(HttpHeaders.ALLOW));
+
+        assertThat(writes.limit()).isEqualTo(limitBefore);
+        assertThat(writes.inFlight()).isZero();
+    }
+
+    @Test
+    void exposesLimitInFlightAndRejectedMetrics() throws Exception {
+        mockMvc.perform(get("/actuator/metrics/loja.admission.limit").param("tag", "type:read"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").value(4.0));
+        mockMvc.perform(get("/actuator/metrics/loja.admission.inflight").param("tag", "type:write"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics/loja.admission.rejected").param("tag", "type:read"))
+                .andExpect(status().isOk());
+    }
+
+    private void fill(ConcurrencyLimiter limiter) {
+        while (limiter.tryAcquire()) {
+            held.add(limiter);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.springboot.config;
+
+import com.example.springboot.models.ProductModel;
+import com.example.springboot.models.VendedorModel;
+import com.example.springboot.repositories.ProductRepository;
+import com.example.springboot.repositories.VendedorRepository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.BinaryNode;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Garante que CBOR e Smile são negociados pelo Accept com a mesma estrutura HAL do JSON e com um ETag por formato
+@SpringBootTest
+@AutoConfigureMockMvc
+class BinaryFormatsConfigTests {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+    private final ObjectMapper smile = new ObjectMapper(new SmileFactory());
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private VendedorRepository vendedorRepository;
+
+    private VendedorModel vendedor;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        vendedorRepository.deleteAll();
+
+        vendedor = new VendedorModel();
+        vendedor.setNome("Vendedor");
+        vendedor.setEmail("vendedor@teste.com");
+        vendedor = vendedorRepository.save(vendedor);
+        for (int p = 0; p < 3; p++) {
+            ProductModel product = new ProductModel();
+            product.setName("Produto " + p);
+            product.setValue(BigDecimal.valueOf(10 + p));
+            product.setVendedor(vendedor);
+            productRepository.save(product);
+        }
+    }
+
+    @Test
+    void listingProductsInCborHasTheHalStructureOfJson() throws Exception {
+        JsonNode expected = json.readTree(fetch("/products", MediaTypes.HAL_JSON));
+        JsonNode actual = cbor.readTree(fetch("/products", MediaType.APPLICATION_CBOR));
+
+        assertThat(actual.path("_embedded").isObject()).isTrue();
+        assertThat(actual.path("_links").path("self").has("href")).isTrue();
+        assertSameHal(actual, expected);
+    }
+
+    @Test
+    void gettingOneVendedorInSmileHasTheHalStructureOfJson() throws Exception {
+        String path = "/vendedores/" + vendedor.getIdVendedor();
+        JsonNode expected = json.readTree(fetch(path, MediaTypes.HAL_JSON));
+        JsonNode actual = smile.readTree(fetch(path, SMILE));
+
+        assertThat(actual.path("_links").path("self").has("href")).isTrue();
+        assertSameHal(actual, expected);
+    }
+
+    @Test
+    void acceptsCborRequestBodies() throws Exception {
+        byte[] body = cbor.writeValueAsBytes(Map.of("nome", "Vendedor CBOR", "email", "cbor@teste.com"));
+
+        byte[] response = mockMvc.perform(post("/vendedores").contentType(MediaType.APPLICATION_CBOR).content(body)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(cbor.readTree(response).path("nome").asText()).isEqualTo("Vendedor CBOR");
+    }
+
+    // Cada formato é uma representação com validador próprio: o ETag do JSON não revalida o CBOR
+    @Test
+    void eachFormatHasItsOwnETag() throws Exception {
+        String path = "/vendedores/" + vendedor.getIdVendedor();
+        String jsonETag = eTag(path, MediaTypes.HAL_JSON);
+        String cborETag = eTag(path, MediaType.APPLICATION_CBOR);
+        String smileETag = eTag(path, SMILE);
+        assertThat(List.of(jsonETag, cborETag, smileETag)).doesNotHaveDuplicates();
+        assertThat(cborETag).isEqualTo(jsonETag.replaceFirst("\"$", "+cbor\""));
+
+        mockMvc.perform(get(path).accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(path).accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, cborETag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get(path).header(HttpHeaders.ACCEPT, "application/cbor;q=0.5, application/json")
+                        .header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+                .andExpect(status().isNotModified());
+
+        // Listagem: ETag fraco (permite a compressão pelo Tomcat), também um por formato
+        String listJson = eTag("/products", MediaTypes.HAL_JSON);
+        String listCbor = eTag("/products", MediaType.APPLICATION_CBOR);
+        assertThat(listJson).startsWith("W/\"");
+        assertThat(listCbor).isNotEqualTo(listJson);
+        mockMvc.perform(get("/products").accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, listJson))
+                .andExpect(status().isOk());
+    }
+
+    // A versão é a mesma em todos os formatos: o If-Match aceita o ETag recebido em qualquer um deles
+    @Test
+    void ifMatchAcceptsTheETagOfABinaryFormat() throws Exception {
+        String path = "/vendedores/" + vendedor.getIdVendedor();
+        String smileETag = eTag(path, SMILE);
+
+        String updated = mockMvc.perform(put(path).contentType(MediaType.APPLICATION_JSON).accept(SMILE)
+                        .header(HttpHeaders.IF_MATCH, smileETag)
+                        .content("{\"nome\":\"Alterado\",\"email\":\"vendedor@teste.com\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(updated).endsWith("+smile\"").isNotEqualTo(smileETag);
+
+        mockMvc.perform(put(path).contentType(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_MATCH, smileETag)
+                        .content("{\"nome\":\"De novo\",\"email\":\"vendedor@teste.com\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    private String eTag(String path, MediaType mediaType) throws Exception {
+        return mockMvc.perform(get(path).accept(mediaType)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private byte[] fetch(String path, MediaType mediaType) throws Exception {
+        return mockMvc.perform(get(path).accept(mediaType))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(mediaType))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    // Mesmos campos e links em todos os níveis; números comparados pelo valor (BigDecimal no CBOR/Smile,
+    // double no JSON lido sem tipo) e UUIDs, que nos formatos binários são escritos como 16 bytes, pelo texto
+    private static void assertSameHal(JsonNode actual, JsonNode expected) {
+        assertThat(fieldNames(actual)).isEqualTo(fieldNames(expected));
+        expected.properties().forEach(field -> {
+            JsonNode other = actual.get(field.getKey());
+            if (field.getValue().isNumber()) {
+                assertThat(other.decimalValue()).isEqualByComparingTo(field.getValue().decimalValue());
+            } else if (field.getValue().isContainerNode()) {
+                assertThat(other.size()).isEqualTo(field.getValue().size());
+                if (field.getValue().isArray()) {
+                    for (int i = 0; i < field.getValue().size(); i++) {
+                        assertSameHal(other.get(i), field.getValue().get(i));
+                    }
+                } else {
+                    assertSameHal(other, field.getValue());
+                }
+            } else if (other.isBinary()) {
+                assertThat(uuid(other).toString()).isEqualTo(field.getValue().asText());
+            } else {
+                assertThat(other.asText()).isEqualTo(field.getValue().asText());
+            }
+        });
+    }
+
+    private static UUID uuid(JsonNode binary) {
+        ByteBuffer bytes = ByteBuffer.wrap(((BinaryNode) binary).binaryValue());
+        return new UUID(bytes.getLong(), bytes.getLong());
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        return node.properties().stream().map(Map.Entry::getKey).toList();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.springboot.config;
+
+import com.example.springboot.models.VendedorModel;
+import com.example.springboot.repositories.ProductRepository;
+import com.example.springboot.repositories.VendedorRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Com o cache ligado, o ETag de GET /vendedores/{id} precisa descrever exatamente o corpo entregue, mesmo
+// quando o banco já está em uma versão mais nova que a entrada do cache (leitura que começou antes do commit)
+@SpringBootTest(properties = "loja.cache.enabled=true")
+@AutoConfigureMockMvc
+class CacheConfigTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private VendedorRepository vendedorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private VendedorModel vendedor;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        vendedorRepository.deleteAll();
+
+        vendedor = new VendedorModel();
+        vendedor.setNome("Original");
+        vendedor.setEmail("original@teste.com");
+        vendedor = vendedorRepository.save(vendedor);
+    }
+
+    @Test
+    void eTagAndBodyComeFromTheSameCachedRead() throws Exception {
+        MvcResult first = mockMvc.perform(get("/vendedores/{id}", vendedor.getIdVendedor()))
+                .andExpect(status().isOk())
+                .andReturn();
+        String eTag = first.getResponse().getHeader("ETag");
+
+        // Alteração que não passa pelo repositório: a entrada do cache fica para trás da versão do banco
+        jdbcTemplate.update("update TB_VENDEDORES set nome = 'Novo', version = version + 1 where id_vendedor = ?",
+                vendedor.getIdVendedor());
+
+        // Corpo e ETag continuam sendo os da leitura em cache: nunca o ETag novo com o corpo antigo
+        mockMvc.perform(get("/vendedores/{id}", vendedor.getIdVendedor()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(jsonPath("$.nome").value("Original"));
+
+        // Assim que a entrada é removida (escrita pela API), o ETag e o corpo mudam juntos
+        vendedorRepository.findById(vendedor.getIdVendedor()).ifPresent(current -> {
+            current.setEmail("novo@teste.com");
+            vendedorRepository.save(current);
+        });
+        MvcResult updated = mockMvc.perform(get("/vendedores/{id}", vendedor.getIdVendedor()).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("Novo"))
+                .andReturn();
+        assertThat(updated.getResponse().getHeader("ETag")).isNotEqualTo(eTag);
+    }
+}
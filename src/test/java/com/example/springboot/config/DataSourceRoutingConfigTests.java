@@ -0,0 +1,130 @@
+package com.example.springboot.config;
+
+import com.example.springboot.datasource.ReadYourWritesFilter;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Dois H2 embutidos no papel de primário e réplica. A "replicação" é uma cópia do primário feita pelo teste
+// (SCRIPT do H2), então entre uma cópia e outra a réplica está atrasada, como uma réplica real
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "loja.datasource.routing.enabled=true",
+        "loja.datasource.replica-selection=least-loaded",
+        "loja.datasource.replicas[0].url=" + DataSourceRoutingConfigTests.REPLICA_URL,
+        "loja.datasource.replicas[0].username=sa"
+})
+@AutoConfigureMockMvc
+class DataSourceRoutingConfigTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    // Esquema copiado para a réplica logo depois de o Hibernate criá-lo no primário, antes das leituras da
+    // inicialização (índice de busca)
+    @TestConfiguration
+    static class ReplicaSchema {
+
+        @Bean
+        InitializingBean replicaSchema(EntityManagerFactory entityManagerFactory, HikariDataSource primaryDataSource) {
+            return () -> replicate(primaryDataSource);
+        }
+    }
+
+    @Test
+    void readsGoToTheReplicaAndWritesToThePrimary() throws Exception {
+        String id = createVendedor(null);
+
+        // A réplica ainda não recebeu o vendedor
+        mockMvc.perform(get("/vendedores/{id}", id)).andExpect(status().isNotFound());
+
+        replicate(primaryDataSource);
+        mockMvc.perform(get("/vendedores/{id}", id)).andExpect(status().isOk());
+    }
+
+    @Test
+    void clientReadsItsOwnWritesFromThePrimary() throws Exception {
+        MvcResult created = mockMvc.perform(post("/vendedores").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Vendedor\",\"email\":\"rw@teste.com\"}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Cookie cookie = created.getResponse().getCookie(ReadYourWritesFilter.COOKIE);
+        assertThat(cookie).isNotNull();
+        String id = idVendedor(created);
+
+        mockMvc.perform(get("/vendedores/{id}", id).cookie(cookie)).andExpect(status().isOk());
+        mockMvc.perform(get("/vendedores/{id}", id)).andExpect(status().isNotFound());
+
+        // Escrita que lê antes de gravar (POST /products busca o vendedor): tudo no primário
+        mockMvc.perform(post("/products").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Produto\",\"value\":10,\"vendedorId\":\"%s\"}".formatted(id)))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void expiredCookieReadsFromTheReplica() throws Exception {
+        String id = createVendedor(null);
+
+        Cookie expired = new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(System.currentTimeMillis() - 1));
+        mockMvc.perform(get("/vendedores/{id}", id).cookie(expired)).andExpect(status().isNotFound());
+    }
+
+    private String createVendedor(Cookie cookie) throws Exception {
+        var request = post("/vendedores").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nome\":\"Vendedor\",\"email\":\"vendedor@teste.com\"}");
+        if (cookie != null) {
+            request.cookie(cookie);
+        }
+        return idVendedor(mockMvc.perform(request).andExpect(status().isCreated()).andReturn());
+    }
+
+    private static String idVendedor(MvcResult result) throws Exception {
+        String body = result.getResponse().getContentAsString();
+        int start = body.indexOf("\"idVendedor\":\"") + "\"idVendedor\":\"".length();
+        return body.substring(start, body.indexOf('"', start));
+    }
+
+    // Substitui o conteúdo da réplica por uma cópia do primário (esquema e dados)
+    private static void replicate(HikariDataSource primary) throws SQLException {
+        try (Connection source = primary.getConnection();
+             Connection target = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement script = source.createStatement();
+             Statement apply = target.createStatement()) {
+            apply.execute("DROP ALL OBJECTS");
+            try (ResultSet statements = script.executeQuery("SCRIPT")) {
+                while (statements.next()) {
+                    apply.execute(statements.getString(1));
+                }
+            }
+        }
+    }
+}
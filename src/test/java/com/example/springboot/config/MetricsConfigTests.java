@@ -0,0 +1,61 @@
+package com.example.springboot.config;
+
+import com.example.springboot.models.ProductModel;
+import com.example.springboot.models.VendedorModel;
+import com.example.springboot.repositories.ProductRepository;
+import com.example.springboot.repositories.VendedorRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Garante que as métricas do caminho quente aparecem no formato do Prometheus
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsConfigTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private VendedorRepository vendedorRepository;
+
+    @Test
+    void exposesEndpointQueryAndHibernateMetrics() throws Exception {
+        VendedorModel vendedor = new VendedorModel();
+        vendedor.setNome("Vendedor");
+        vendedor.setEmail("vendedor@teste.com");
+        vendedor = vendedorRepository.save(vendedor);
+        ProductModel product = new ProductModel();
+        product.setName("Produto");
+        product.setValue(BigDecimal.TEN);
+        product.setVendedor(vendedor);
+        productRepository.save(product);
+
+        mockMvc.perform(get("/products")).andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket{")
+                .contains("handler=\"ProductController.getAllProducts\"")
+                .contains("http_server_requests_queries_count{handler=\"ProductController.getAllProducts\"")
+                .contains("spring_data_repository_invocations_seconds_bucket{")
+                .contains("hibernate_statements_total");
+    }
+}
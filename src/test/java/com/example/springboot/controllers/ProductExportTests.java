@@ -0,0 +1,155 @@
+package com.example.springboot.controllers;
+
+import com.example.springboot.models.ProductModel;
+import com.example.springboot.models.VendedorModel;
+import com.example.springboot.repositories.ProductRepository;
+import com.example.springboot.repositories.VendedorRepository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// GET /products/export: CSV com aspas onde precisa, uma linha JSON por produto no NDJSON, gzip só quando aceito,
+// e o CSV exportado volta pela importação com os mesmos nomes e valores
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductExportTests {
+
+    // Vírgula, aspas e quebra de linha no mesmo nome
+    private static final String TRICKY_NAME = "Caneca \"Grande\", azul\nedição 2";
+
+    private final ObjectMapper json = new ObjectMapper();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private VendedorRepository vendedorRepository;
+
+    private VendedorModel vendedor;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        vendedorRepository.deleteAll();
+
+        vendedor = new VendedorModel();
+        vendedor.setNome("Vendedor, Filial \"Centro\"");
+        vendedor.setEmail("vendedor@teste.com");
+        vendedor = vendedorRepository.save(vendedor);
+        save(TRICKY_NAME, "19.90");
+        save("Café Torrado", "10.00");
+    }
+
+    @Test
+    void csvQuotesFieldsThatNeedIt() throws Exception {
+        String csv = export(get("/products/export").param("format", "csv"));
+
+        assertThat(csv).startsWith("idProduct,name,value,vendedorId,vendedorNome\n");
+        assertThat(csv).contains(",\"Caneca \"\"Grande\"\", azul\nedição 2\",19.90," + vendedor.getIdVendedor()
+                + ",\"Vendedor, Filial \"\"Centro\"\"\"\n");
+        assertThat(csv).contains(",Café Torrado,10.00,");
+    }
+
+    @Test
+    void ndjsonHasOneObjectPerLine() throws Exception {
+        String ndjson = export(get("/products/export").param("format", "ndjson"));
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            lines.add(json.readTree(line));
+        }
+        assertThat(lines).hasSize(2);
+        assertThat(lines).extracting(line -> line.get("name").asText()).containsExactlyInAnyOrder(TRICKY_NAME, "Café Torrado");
+        JsonNode first = lines.get(0);
+        assertThat(first.has("idProduct")).isTrue();
+        assertThat(first.get("vendedorId").asText()).isEqualTo(vendedor.getIdVendedor().toString());
+        assertThat(first.get("vendedorNome").asText()).isEqualTo(vendedor.getNome());
+    }
+
+    // gzip só quando o cliente aceita; "gzip;q=0" é uma recusa
+    @Test
+    void gzipOnlyWhenAccepted() throws Exception {
+        MvcResult compressed = dispatch(get("/products/export").param("format", "csv")
+                .header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.5"));
+        assertThat(compressed.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.getResponse().getContentAsByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).startsWith("idProduct,");
+        }
+
+        for (String refused : List.of("gzip;q=0", "identity", "*;q=0", "gzip;q=0, *")) {
+            MvcResult plain = dispatch(get("/products/export").param("format", "csv").header(HttpHeaders.ACCEPT_ENCODING, refused));
+            assertThat(plain.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING)).as(refused).isNull();
+            assertThat(plain.getResponse().getContentAsString(StandardCharsets.UTF_8)).as(refused).startsWith("idProduct,");
+        }
+    }
+
+    // O CSV exportado é aceito pela importação (colunas extras ignoradas) e recria os mesmos produtos
+    @Test
+    void exportedCsvRoundTripsThroughTheImport() throws Exception {
+        String csv = export(get("/products/export").param("format", "csv"));
+        productRepository.deleteAll();
+
+        mockMvc.perform(post("/products/import").contentType("text/csv").content(csv.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(0));
+
+        assertThat(productRepository.findAll())
+                .extracting(ProductModel::getName, product -> product.getValue().toPlainString())
+                .containsExactlyInAnyOrder(
+                        tuple(TRICKY_NAME, "19.90"),
+                        tuple("Café Torrado", "10.00"));
+    }
+
+    private String export(MockHttpServletRequestBuilder export) throws Exception {
+        return dispatch(export).getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    // A resposta é um StreamingResponseBody: escrita depois do retorno do controller, no despacho assíncrono
+    private MvcResult dispatch(MockHttpServletRequestBuilder export) throws Exception {
+        MvcResult started = mockMvc.perform(export).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn();
+    }
+
+    private void save(String name, String value) {
+        ProductModel product = new ProductModel();
+        product.setName(name);
+        product.setValue(new BigDecimal(value));
+        product.setVendedor(vendedor);
+        productRepository.save(product);
+    }
+}
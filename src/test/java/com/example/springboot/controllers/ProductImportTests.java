@@ -0,0 +1,167 @@
+package com.example.springboot.controllers;
+
+import com.example.springboot.models.ProductModel;
+import com.example.springboot.models.VendedorModel;
+import com.example.springboot.repositories.ProductRepository;
+import com.example.springboot.repositories.VendedorRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// POST /products/import com CSV: campos entre aspas, número da linha de cada rejeição e blocos de
+// commit-interval registros gravados inteiros ou não gravados
+@SpringBootTest(properties = "loja.import.commit-interval=3")
+@AutoConfigureMockMvc
+class ProductImportTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private VendedorRepository vendedorRepository;
+
+    private UUID vendedorId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        vendedorRepository.deleteAll();
+
+        VendedorModel vendedor = new VendedorModel();
+        vendedor.setNome("Vendedor");
+        vendedor.setEmail("vendedor@teste.com");
+        vendedorId = vendedorRepository.save(vendedor).getIdVendedor();
+    }
+
+    @Test
+    void quotedFieldsKeepCommasQuotesAndLineBreaks() throws Exception {
+        importCsv("""
+                vendedorId,name,value
+                %1$s,"Café, Torrado",10.50
+                %1$s,"Caneca \"\"Grande\"\"",20
+                %1$s,"Kit
+                Presente",30
+                %1$s,Chá Verde,5
+                """.formatted(vendedorId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(4))
+                .andExpect(jsonPath("$.imported").value(4))
+                .andExpect(jsonPath("$.failed").value(0));
+
+        assertThat(productRepository.findAll()).extracting(ProductModel::getName)
+                .containsExactlyInAnyOrder("Café, Torrado", "Caneca \"Grande\"", "Kit\nPresente", "Chá Verde");
+    }
+
+    // O número informado é o da linha em que o registro começa, contando o cabeçalho e as quebras entre aspas
+    @Test
+    void rejectedLinesAreReportedWithTheirLineNumber() throws Exception {
+        importCsv("""
+                name,value,vendedorId
+                "Duas
+                linhas",10,%1$s
+                Preço errado,dez,%1$s
+                ,10,%1$s
+                Sem valor,,%1$s
+                Válido,1,%1$s
+                """.formatted(vendedorId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(5))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.errors[0].line").value(4))
+                .andExpect(jsonPath("$.errors[0].message").value("value: valor inválido: dez"))
+                .andExpect(jsonPath("$.errors[1].line").value(5))
+                .andExpect(jsonPath("$.errors[1].message", startsWith("name: ")))
+                .andExpect(jsonPath("$.errors[2].line").value(6))
+                .andExpect(jsonPath("$.errors[2].message", startsWith("value: ")))
+                .andExpect(jsonPath("$.errorsTruncated").value(false));
+    }
+
+    // Vendedor ausente, malformado ou inexistente rejeita só a própria linha; as demais do mesmo bloco são gravadas
+    @Test
+    void missingOrUnknownVendedorIsRejectedBeforeTheBlock() throws Exception {
+        UUID unknown = UUID.randomUUID();
+        importCsv("""
+                name,value,vendedorId
+                Primeiro,1,%1$s
+                Sem vendedor,2,
+                Vendedor inexistente,3,%2$s
+                ID malformado,4,123
+                Segundo,5,%1$s
+                Terceiro,6,%1$s
+                """.formatted(vendedorId, unknown))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(6))
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].message", startsWith("vendedorId: ")))
+                .andExpect(jsonPath("$.errors[1].line").value(4))
+                .andExpect(jsonPath("$.errors[1].message").value("Vendedor não encontrado: " + unknown))
+                .andExpect(jsonPath("$.errors[2].line").value(5))
+                .andExpect(jsonPath("$.errors[2].message").value("vendedorId: ID inválido: 123"));
+
+        assertThat(productRepository.findAll()).extracting(ProductModel::getName)
+                .containsExactlyInAnyOrder("Primeiro", "Segundo", "Terceiro");
+    }
+
+    // Falha no banco ao gravar um bloco rejeita todas as suas linhas, sem gravar parte dele; os outros blocos seguem
+    @Test
+    void blockFailingInTheDatabaseIsRejectedWhole() throws Exception {
+        String tooLong = "X".repeat(300); // Passa na validação, mas não cabe na coluna
+        importCsv("""
+                name,value,vendedorId
+                Bloco 1 A,1,%1$s
+                Bloco 1 B,1,%1$s
+                Bloco 1 C,1,%1$s
+                Bloco 2 A,2,%1$s
+                %2$s,2,%1$s
+                Bloco 2 C,2,%1$s
+                Bloco 3 A,3,%1$s
+                """.formatted(vendedorId, tooLong))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(7))
+                .andExpect(jsonPath("$.imported").value(4))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.errors[*].line").value(contains(5, 6, 7)))
+                .andExpect(jsonPath("$.errors[0].message", containsString("Falha ao gravar o bloco")));
+
+        assertThat(productRepository.findAll()).extracting(ProductModel::getName)
+                .containsExactlyInAnyOrder("Bloco 1 A", "Bloco 1 B", "Bloco 1 C", "Bloco 3 A");
+    }
+
+    @Test
+    void headerWithoutVendedorIdIsRejected() throws Exception {
+        importCsv("""
+                name,value
+                Produto,10
+                """)
+                .andExpect(status().isBadRequest());
+
+        assertThat(productRepository.count()).isZero();
+    }
+
+    private ResultActions importCsv(String csv) throws Exception {
+        return mockMvc.perform(post("/products/import").contentType("text/csv")
+                .content(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.springboot.controllers;
+
+import com.example.springboot.models.ProductModel;
+import com.example.springboot.models.VendedorModel;
+import com.example.springboot.repositories.ProductRepository;
+import com.example.springboot.repositories.VendedorRepository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Paginação por chave com ordenação por atributo: o cursor guarda o valor do último item e o ID como desempate,
+// então percorrer todas as páginas com muitos valores repetidos entrega cada produto exatamente uma vez
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductPaginationTests {
+
+    private static final int PRODUCTS = 23;
+
+    private final ObjectMapper json = new ObjectMapper();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private VendedorRepository vendedorRepository;
+
+    private final Set<UUID> ids = new HashSet<>();
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        vendedorRepository.deleteAll();
+        ids.clear();
+
+        VendedorModel vendedor = new VendedorModel();
+        vendedor.setNome("Vendedor");
+        vendedor.setEmail("vendedor@teste.com");
+        vendedor = vendedorRepository.save(vendedor);
+
+        // Só três valores e quatro nomes distintos: quase todo limite de página cai no meio de um empate
+        for (int i = 0; i < PRODUCTS; i++) {
+            ProductModel product = new ProductModel();
+            product.setName("Produto " + (char) ('A' + i % 4));
+            product.setValue(BigDecimal.valueOf(10L * (1 + i % 3)));
+            product.setVendedor(vendedor);
+            ids.add(productRepository.save(product).getIdProduct());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"value", "-value", "name", "-name"})
+    void pagingThroughDuplicatesNeitherSkipsNorRepeats(String sort) throws Exception {
+        List<JsonNode> items = new ArrayList<>();
+        URI next = URI.create("/products?limit=4&sort=" + sort);
+        while (next != null) {
+            JsonNode page = json.readTree(mockMvc.perform(get(next)).andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            page.path("_embedded").path("productModelList").forEach(items::add);
+            JsonNode href = page.path("_links").path("next").path("href");
+            next = href.isMissingNode() ? null : URI.create(href.asText());
+        }
+
+        List<UUID> seen = items.stream().map(item -> UUID.fromString(item.get("idProduct").asText())).toList();
+        assertThat(seen).doesNotHaveDuplicates();
+        assertThat(seen).containsExactlyInAnyOrderElementsOf(ids);
+
+        // Ordem (atributo, ID) respeitada de ponta a ponta, inclusive entre páginas
+        String property = sort.replace("-", "");
+        for (int i = 1; i < items.size(); i++) {
+            int byProperty = property.equals("value")
+                    ? items.get(i - 1).get("value").decimalValue().compareTo(items.get(i).get("value").decimalValue())
+                    : items.get(i - 1).get("name").asText().compareTo(items.get(i).get("name").asText());
+            if (sort.startsWith("-")) {
+                byProperty = -byProperty;
+            }
+            assertThat(byProperty).isLessThanOrEqualTo(0);
+            if (byProperty == 0) {
+                // Desempate pelo ID na ordem do banco (bytes sem sinal = texto hexadecimal)
+                assertThat(seen.get(i - 1).toString()).isLessThan(seen.get(i).toString());
+            }
+        }
+    }
+
+    @Test
+    void cursorFromAnotherSortIsRejected() throws Exception {
+        String valueCursor = cursorOf("/products?limit=4&sort=value");
+        String nameCursor = cursorOf("/products?limit=4&sort=name");
+        String idCursor = cursorOf("/products?limit=4");
+
+        mockMvc.perform(get("/products").param("sort", "-value").param("after", valueCursor)).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/products").param("sort", "name").param("after", valueCursor)).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/products").param("sort", "value").param("after", nameCursor)).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/products").param("after", valueCursor)).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/products").param("sort", "value").param("after", idCursor)).andExpect(status().isBadRequest());
+
+        // Na ordenação em que foi gerado o cursor continua válido
+        mockMvc.perform(get("/products").param("sort", "value").param("after", valueCursor)).andExpect(status().isOk());
+    }
+
+    // A listagem não tem Last-Modified: depois de uma remoção, If-Modified-Since sozinho não pode dar 304
+    @Test
+    void listingIgnoresIfModifiedSinceAfterADelete() throws Exception {
+        String eTag = mockMvc.perform(get("/products")).andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/products").header(HttpHeaders.IF_NONE_MATCH, eTag)).andExpect(status().isNotModified());
+
+        productRepository.deleteById(ids.iterator().next());
+
+        String future = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusDays(1));
+        mockMvc.perform(get("/products").header(HttpHeaders.IF_MODIFIED_SINCE, future)).andExpect(status().isOk());
+        mockMvc.perform(get("/products").header(HttpHeaders.IF_NONE_MATCH, eTag)).andExpect(status().isOk());
+    }
+
+    // Parâmetro "after" do link "next" da primeira página
+    private String cursorOf(String path) throws Exception {
+        JsonNode page = json.readTree(mockMvc.perform(get(path)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        String href = page.path("_links").path("next").path("href").asText();
+        return UriComponentsBuilder.fromUriString(href).build().getQueryParams().getFirst("after");
+    }
+}
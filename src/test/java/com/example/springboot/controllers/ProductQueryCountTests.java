@@ -0,0 +1,148 @@
+package com.example.springboot.controllers;
+
+import com.example.springboot.models.ProductModel;
+import com.example.springboot.models.VendedorModel;
+import com.example.springboot.repositories.ProductRepository;
+import com.example.springboot.repositories.VendedorRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Garante que as leituras de produtos executam um número constante de comandos SQL,
+// independentemente de quantos vendedores distintos aparecem na resposta (sem N+1)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class ProductQueryCountTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private VendedorRepository vendedorRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private final List<ProductModel> products = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        vendedorRepository.deleteAll();
+        products.clear();
+
+        // Cinco vendedores distintos com quatro produtos cada
+        for (int v = 0; v < 5; v++) {
+            VendedorModel vendedor = new VendedorModel();
+            vendedor.setNome("Vendedor " + v);
+            vendedor.setEmail("vendedor" + v + "@teste.com");
+            vendedor = vendedorRepository.save(vendedor);
+
+            for (int p = 0; p < 4; p++) {
+                ProductModel product = new ProductModel();
+                product.setName("Produto " + v + "-" + p);
+                product.setValue(BigDecimal.valueOf(10 + p));
+                product.setVendedor(vendedor);
+                products.add(productRepository.save(product));
+            }
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    // Consulta de versão (ETag) + consulta da página com vendedores, independente da quantidade de itens
+    @Test
+    void listingProductsRunsTwoStatements() throws Exception {
+        mockMvc.perform(get("/products")).andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    // Produto, vendedor e versão (ETag) no mesmo SELECT
+    @Test
+    void gettingOneProductRunsOneStatement() throws Exception {
+        mockMvc.perform(get("/products/{id}", products.get(0).getIdProduct())).andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    // Produtos de um vendedor: uma única consulta pelo índice de vendedor, sem inicializar VendedorModel.produtos
+    @Test
+    void listingVendedorProductsRunsOneStatement() throws Exception {
+        mockMvc.perform(get("/vendedores/{id}/products", products.get(0).getVendedor().getIdVendedor()).param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.productModelList.length()").value(3))
+                .andExpect(jsonPath("$._links.next.href").exists());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    // Quando o cliente já tem a versão atual a mesma consulta responde 304, sem serializar
+    @Test
+    void notModifiedProductRunsOneStatement() throws Exception {
+        String eTag = mockMvc.perform(get("/products/{id}", products.get(0).getIdProduct()))
+                .andReturn().getResponse().getHeader("ETag");
+        statistics.clear();
+
+        mockMvc.perform(get("/products/{id}", products.get(0).getIdProduct()).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    // UPDATE direto (sem SELECT antes) + leitura do produto atualizado para a resposta
+    @Test
+    void updatingProductRunsTwoStatements() throws Exception {
+        ProductModel product = products.get(0);
+        String body = "{\"name\":\"Produto alterado\",\"value\":99.90,\"vendedorId\":\"%s\"}"
+                .formatted(product.getVendedor().getIdVendedor());
+
+        mockMvc.perform(put("/products/{id}", product.getIdProduct()).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void deletingProductRunsOneStatement() throws Exception {
+        mockMvc.perform(delete("/products/{id}", products.get(0).getIdProduct())).andExpect(status().isNoContent());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    // If-Match desatualizado: o DELETE não afeta linhas e a resposta é 412
+    @Test
+    void deletingWithStaleIfMatchFails() throws Exception {
+        mockMvc.perform(delete("/products/{id}", products.get(0).getIdProduct()).header("If-Match", "\"99.0\""))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(productRepository.existsById(products.get(0).getIdProduct())).isTrue();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.springboot.controllers;
+
+import com.example.springboot.models.ProductModel;
+import com.example.springboot.models.VendedorModel;
+import com.example.springboot.repositories.ProductRepository;
+import com.example.springboot.repositories.VendedorRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// GET /products/search: o índice em memória acompanha as escritas feitas pela API e ordena por relevância
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductSearchTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private VendedorRepository vendedorRepository;
+
+    private VendedorModel vendedor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Removidos pela API (e não por deleteAll) para que o índice, compartilhado pelo contexto, também os esqueça
+        for (ProductModel product : productRepository.findAll()) {
+            mockMvc.perform(delete("/products/{id}", product.getIdProduct()));
+        }
+        vendedorRepository.deleteAll();
+
+        vendedor = new VendedorModel();
+        vendedor.setNome("Vendedor");
+        vendedor.setEmail("vendedor@teste.com");
+        vendedor = vendedorRepository.save(vendedor);
+    }
+
+    @Test
+    void searchIgnoresAccentsAndRanksExactTermsFirst() throws Exception {
+        create("Cafeteira Elétrica");
+        create("Café Especial Torrado");
+        create("Açúcar Refinado");
+
+        mockMvc.perform(get("/products/search").param("q", "CAFE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.productSearchHitDtoList[*].name",
+                        contains("Café Especial Torrado", "Cafeteira Elétrica")))
+                .andExpect(jsonPath("$._embedded.productSearchHitDtoList[0]._links.self.href").exists());
+
+        mockMvc.perform(get("/products/search").param("q", "acucar ref"))
+                .andExpect(jsonPath("$._embedded.productSearchHitDtoList[*].name", contains("Açúcar Refinado")));
+    }
+
+    @Test
+    void deletedProductsLeaveTheResults() throws Exception {
+        String id = create("Chá Verde");
+        mockMvc.perform(get("/products/search").param("q", "cha"))
+                .andExpect(jsonPath("$._embedded.productSearchHitDtoList[*].name", contains("Chá Verde")));
+
+        mockMvc.perform(delete("/products/{id}", id)).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/products/search").param("q", "cha"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded").doesNotExist());
+    }
+
+    private String create(String name) throws Exception {
+        String body = mockMvc.perform(post("/products").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"%s\",\"value\":10,\"vendedorId\":\"%s\"}".formatted(name, vendedor.getIdVendedor())))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        int start = body.indexOf("\"idProduct\":\"") + "\"idProduct\":\"".length();
+        return body.substring(start, body.indexOf('"', start));
+    }
+}
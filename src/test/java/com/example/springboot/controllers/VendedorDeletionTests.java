@@ -0,0 +1,140 @@
+package com.example.springboot.controllers;
+
+import com.example.springboot.models.ProductModel;
+import com.example.springboot.models.VendedorModel;
+import com.example.springboot.repositories.ProductRepository;
+import com.example.springboot.repositories.VendedorRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// DELETE /vendedores/{id} remove os produtos em vários lotes (um por transação): um If-Match desatualizado
+// precisa ser recusado antes do primeiro lote, sem remover nenhum produto
+@SpringBootTest(properties = "loja.vendedores.delete-chunk-size=3")
+@AutoConfigureMockMvc
+class VendedorDeletionTests {
+
+    private static final int PRODUCTS = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private VendedorRepository vendedorRepository;
+
+    private UUID vendedorId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        vendedorRepository.deleteAll();
+
+        VendedorModel vendedor = new VendedorModel();
+        vendedor.setNome("Vendedor");
+        vendedor.setEmail("vendedor@teste.com");
+        vendedor = vendedorRepository.save(vendedor);
+        vendedorId = vendedor.getIdVendedor();
+        for (int p = 0; p < PRODUCTS; p++) {
+            ProductModel product = new ProductModel();
+            product.setName("Produto " + p);
+            product.setValue(BigDecimal.TEN);
+            product.setVendedor(vendedor);
+            productRepository.save(product);
+        }
+    }
+
+    @Test
+    void staleIfMatchKeepsEveryProduct() throws Exception {
+        String stale = eTag();
+        update("Outro nome", null);
+
+        mockMvc.perform(delete("/vendedores/{id}", vendedorId).header("If-Match", stale))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(productRepository.count()).isEqualTo(PRODUCTS);
+        assertThat(vendedorRepository.existsById(vendedorId)).isTrue();
+    }
+
+    @Test
+    void staleIfMatchOnAsyncDeletionStartsNoJob() throws Exception {
+        String stale = eTag();
+        update("Outro nome", null);
+
+        mockMvc.perform(delete("/vendedores/{id}", vendedorId).param("async", "true").header("If-Match", stale))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(productRepository.count()).isEqualTo(PRODUCTS);
+        assertThat(vendedorRepository.existsById(vendedorId)).isTrue();
+    }
+
+    @Test
+    void currentIfMatchDeletesEverything() throws Exception {
+        mockMvc.perform(delete("/vendedores/{id}", vendedorId).header("If-Match", eTag()))
+                .andExpect(status().isNoContent());
+
+        assertThat(productRepository.count()).isZero();
+        assertThat(vendedorRepository.existsById(vendedorId)).isFalse();
+    }
+
+    // Depois de aceita, a remoção já incrementou a versão: quem ainda tem o ETag anterior não consegue
+    // alterar o vendedor no meio dela, e a remoção termina com todos os produtos apagados
+    @Test
+    void acceptedDeletionFencesOffWritesWithThePreviousETag() throws Exception {
+        String current = eTag();
+
+        MvcResult accepted = mockMvc.perform(delete("/vendedores/{id}", vendedorId).param("async", "true")
+                        .header("If-Match", current))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        int concurrentUpdate = update("Alteração concorrente", current);
+        assertThat(concurrentUpdate).isIn(412, 404);
+
+        String location = accepted.getResponse().getHeader("Location");
+        for (int attempt = 0; attempt < 100 && isRunning(location); attempt++) {
+            Thread.sleep(50);
+        }
+        mockMvc.perform(get(location))
+                .andExpect(jsonPath("$.status").value("DONE"))
+                .andExpect(jsonPath("$.productsDeleted").value(PRODUCTS));
+        assertThat(productRepository.count()).isZero();
+        assertThat(vendedorRepository.existsById(vendedorId)).isFalse();
+    }
+
+    private boolean isRunning(String location) throws Exception {
+        return mockMvc.perform(get(location)).andReturn().getResponse().getContentAsString().contains("\"RUNNING\"");
+    }
+
+    private String eTag() throws Exception {
+        return mockMvc.perform(get("/vendedores/{id}", vendedorId)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+    }
+
+    // PUT com ou sem If-Match; devolve o status da resposta
+    private int update(String nome, String ifMatch) throws Exception {
+        var request = put("/vendedores/{id}", vendedorId).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nome\":\"%s\",\"email\":\"vendedor@teste.com\"}".formatted(nome));
+        if (ifMatch != null) {
+            request.header("If-Match", ifMatch);
+        }
+        return mockMvc.perform(request).andReturn().getResponse().getStatus();
+    }
+}
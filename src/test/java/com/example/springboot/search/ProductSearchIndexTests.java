@@ -0,0 +1,130 @@
+package com.example.springboot.search;
+
+import com.example.springboot.dtos.ProductNameDto;
+import com.example.springboot.dtos.ProductSearchHitDto;
+import com.example.springboot.events.ProductChangedEvent;
+import com.example.springboot.repositories.ProductRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Índice em memória sem Spring: normalização dos termos, relevância e a troca do índice na reconstrução
+class ProductSearchIndexTests {
+
+    private final ProductRepository productRepository = Mockito.mock(ProductRepository.class);
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        ReflectionTestUtils.setField(index, "productRepository", productRepository);
+    }
+
+    @Test
+    void tokenizeRemovesAccentsCaseAndPunctuation() {
+        assertThat(ProductSearchIndex.tokenize("Pão de Açúcar")).containsExactly("pao", "de", "acucar");
+        assertThat(ProductSearchIndex.tokenize("CAFÉ-Torrado, 500g (moído)")).containsExactly("cafe", "torrado", "500g", "moido");
+        assertThat(ProductSearchIndex.tokenize("leite leite LEITE")).containsExactly("leite");
+        assertThat(ProductSearchIndex.tokenize("  ")).isEmpty();
+        assertThat(ProductSearchIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void matchesByPrefixOnlyFromTwoCharacters() {
+        UUID cafe = UUID.randomUUID();
+        index.onProductChanged(ProductChangedEvent.saved(cafe, "Café Torrado"));
+
+        assertThat(ids(index.search("caf", 10))).containsExactly(cafe);
+        assertThat(ids(index.search("CAFE torr", 10))).containsExactly(cafe);
+        assertThat(index.search("c", 10)).isEmpty();
+        assertThat(index.search("cafe leite", 10)).isEmpty(); // Todos os termos precisam casar
+    }
+
+    @Test
+    void ranksExactOverPrefixRareOverCommonAndShorterNamesFirst() {
+        UUID exact = UUID.randomUUID();
+        UUID prefix = UUID.randomUUID();
+        index.onProductChanged(ProductChangedEvent.saved(prefix, "Cafeteira Elétrica"));
+        index.onProductChanged(ProductChangedEvent.saved(exact, "Café Especial"));
+
+        // "cafe" igual vale mais que "cafe" como prefixo de "cafeteira"
+        assertThat(ids(index.search("cafe", 10))).containsExactly(exact, prefix);
+
+        // Termo raro pesa mais: "arabica" aparece em um produto, "grao" em três
+        UUID rare = UUID.randomUUID();
+        UUID common1 = UUID.randomUUID();
+        UUID common2 = UUID.randomUUID();
+        index.onProductChanged(ProductChangedEvent.saved(common1, "Grão Integral"));
+        index.onProductChanged(ProductChangedEvent.saved(common2, "Grão Tipo A"));
+        index.onProductChanged(ProductChangedEvent.saved(rare, "Grão Arábica"));
+        List<ProductSearchHitDto> hits = index.search("grao arabica", 10);
+        assertThat(ids(hits)).containsExactly(rare);
+
+        // Mesma pontuação: nome mais curto primeiro, depois o indexado antes
+        List<UUID> byLength = ids(index.search("grao", 10));
+        assertThat(byLength).containsExactly(common2, rare, common1);
+        assertThat(ids(index.search("grao", 2))).containsExactly(common2, rare);
+    }
+
+    @Test
+    void reindexingAndRemovingReplaceThePreviousName() {
+        UUID id = UUID.randomUUID();
+        index.onProductChanged(ProductChangedEvent.saved(id, "Arroz Branco"));
+        index.onProductChanged(ProductChangedEvent.saved(id, "Arroz Integral"));
+
+        assertThat(index.search("branco", 10)).isEmpty();
+        assertThat(ids(index.search("integral", 10))).containsExactly(id);
+
+        index.onProductChanged(ProductChangedEvent.deleted(id));
+        assertThat(index.search("arroz", 10)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    // O SELECT da reconstrução é um retrato do banco: o que muda enquanto ele é lido chega como evento e
+    // não pode ser desfeito pela troca do índice
+    @Test
+    void changesDuringRebuildAreReplayedOnTheNewIndex() {
+        UUID kept = UUID.randomUUID();
+        UUID deletedMeanwhile = UUID.randomUUID();
+        UUID renamedMeanwhile = UUID.randomUUID();
+        UUID createdMeanwhile = UUID.randomUUID();
+
+        Stream<ProductNameDto> snapshot = Stream.of(
+                        new ProductNameDto(kept, "Feijão Preto"),
+                        new ProductNameDto(deletedMeanwhile, "Feijão Carioca"),
+                        new ProductNameDto(renamedMeanwhile, "Feijão Branco"))
+                .peek(product -> {
+                    if (product.idProduct().equals(kept)) {
+                        // Commits de outras transações enquanto o índice novo é montado
+                        index.onProductChanged(ProductChangedEvent.deleted(deletedMeanwhile));
+                        index.onProductChanged(ProductChangedEvent.saved(renamedMeanwhile, "Feijão Fradinho"));
+                        index.onProductChanged(ProductChangedEvent.saved(createdMeanwhile, "Feijão Jalo"));
+                    }
+                });
+        Mockito.when(productRepository.streamAllNames()).thenReturn(snapshot);
+
+        index.rebuild();
+
+        assertThat(ids(index.search("feijao", 10))).containsExactlyInAnyOrder(kept, renamedMeanwhile, createdMeanwhile);
+        assertThat(index.search("carioca", 10)).isEmpty();
+        assertThat(index.search("branco", 10)).isEmpty();
+        assertThat(ids(index.search("fradinho", 10))).containsExactly(renamedMeanwhile);
+
+        // Depois da troca os eventos voltam a ser aplicados direto, sem acumular
+        index.onProductChanged(ProductChangedEvent.deleted(kept));
+        assertThat(ids(index.search("feijao", 10))).containsExactlyInAnyOrder(renamedMeanwhile, createdMeanwhile);
+    }
+
+    private static List<UUID> ids(List<ProductSearchHitDto> hits) {
+        return hits.stream().map(ProductSearchHitDto::idProduct).toList();
+    }
+}
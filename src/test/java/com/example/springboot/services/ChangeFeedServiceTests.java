@@ -0,0 +1,182 @@
+package com.example.springboot.services;
+
+import com.example.springboot.models.VendedorModel;
+import com.example.springboot.repositories.ProductRepository;
+import com.example.springboot.repositories.VendedorRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// GET /products/changes: eventos entregues na ordem da sequência, um buraco deixado por uma transação desfeita
+// segura o feed só até loja.changes.gap-timeout e, depois de pulado, não segura de novo
+@SpringBootTest(properties = "loja.changes.gap-timeout=3s")
+@AutoConfigureMockMvc
+class ChangeFeedServiceTests {
+
+    private static final long GAP_TIMEOUT_MILLIS = 3000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private VendedorRepository vendedorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private UUID vendedorId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        vendedorRepository.deleteAll();
+
+        VendedorModel vendedor = new VendedorModel();
+        vendedor.setNome("Vendedor");
+        vendedor.setEmail("vendedor@teste.com");
+        vendedorId = vendedorRepository.save(vendedor).getIdVendedor();
+    }
+
+    @Test
+    void eventsArriveInSequenceOrder() throws Exception {
+        MvcResult feed = subscribe();
+
+        String first = createProduct("Primeiro");
+        String second = createProduct("Segundo");
+        mockMvc.perform(put("/products/{id}", first).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Primeiro alterado\",\"value\":11,\"vendedorId\":\"%s\"}".formatted(vendedorId)))
+                .andExpect(status().isOk());
+
+        List<Event> events = awaitEvents(feed, 3, GAP_TIMEOUT_MILLIS);
+        assertThat(events).extracting(Event::id).containsExactly(first, second, first);
+        for (int i = 1; i < events.size(); i++) {
+            assertThat(events.get(i).sequence()).isEqualTo(events.get(i - 1).sequence() + 1);
+        }
+    }
+
+    @Test
+    void gapLeftByARolledBackTransactionIsSkippedAfterTheTimeout() throws Exception {
+        MvcResult feed = subscribe();
+
+        long hole = reserveAndRollBack();
+        long start = System.nanoTime();
+        String product = createProduct("Depois do buraco");
+
+        List<Event> events = awaitEvents(feed, 1, GAP_TIMEOUT_MILLIS * 3);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertThat(events).extracting(Event::id).containsExactly(product);
+        assertThat(events.get(0).sequence()).isEqualTo(hole + 1);
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(GAP_TIMEOUT_MILLIS);
+
+        // O buraco pulado fica registrado para quem passar por ele depois
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from tb_change_log_gap where first_sequence = ? and last_sequence = ?",
+                Integer.class, hole, hole)).isEqualTo(1);
+    }
+
+    // Buraco já pulado antes (por outra instância, ou por esta antes de reiniciar): o despacho não espera de novo
+    @Test
+    void gapAlreadySkippedDoesNotHoldTheFeedAgain() throws Exception {
+        MvcResult feed = subscribe();
+
+        long hole = reserveAndRollBack();
+        jdbcTemplate.update("insert into tb_change_log_gap (first_sequence, last_sequence, skipped_at) values (?, ?, ?)",
+                hole, hole, Timestamp.from(Instant.now()));
+        long start = System.nanoTime();
+        String product = createProduct("Sem espera");
+
+        List<Event> events = awaitEvents(feed, 1, GAP_TIMEOUT_MILLIS * 3);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertThat(events).extracting(Event::id).containsExactly(product);
+        assertThat(elapsedMillis).isLessThan(GAP_TIMEOUT_MILLIS);
+    }
+
+    private MvcResult subscribe() throws Exception {
+        return mockMvc.perform(get("/products/changes")).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    // Reserva uma sequência em TB_CHANGE_LOG e desfaz a transação, como um commit que falhou depois do INSERT
+    private long reserveAndRollBack() {
+        Long sequence = transactionTemplate.execute(status -> {
+            jdbcTemplate.update("insert into tb_change_log (entity_type, entity_id, deleted, changed_at) values ('product', ?, false, ?)",
+                    UUID.randomUUID(), Timestamp.from(Instant.now()));
+            status.setRollbackOnly();
+            return jdbcTemplate.queryForObject("select max(id_change) from tb_change_log", Long.class);
+        });
+        return sequence;
+    }
+
+    private String createProduct(String name) throws Exception {
+        String body = mockMvc.perform(post("/products").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"%s\",\"value\":10,\"vendedorId\":\"%s\"}".formatted(name, vendedorId)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        int start = body.indexOf("\"idProduct\":\"") + "\"idProduct\":\"".length();
+        return body.substring(start, body.indexOf('"', start));
+    }
+
+    // Eventos "product" recebidos pela conexão até chegarem "count" deles ou acabar o prazo
+    private static List<Event> awaitEvents(MvcResult feed, int count, long timeoutMillis) throws Exception {
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000;
+        List<Event> events = parse(feed.getResponse().getContentAsString());
+        while (events.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            events = parse(feed.getResponse().getContentAsString());
+        }
+        return events;
+    }
+
+    // Blocos "id:...\nevent:...\ndata:{...}" separados por linha em branco
+    private static List<Event> parse(String stream) {
+        List<Event> events = new ArrayList<>();
+        for (String block : stream.split("\n\n")) {
+            long sequence = -1;
+            String type = null;
+            String id = null;
+            for (String line : block.split("\n")) {
+                if (line.startsWith("id:")) {
+                    sequence = Long.parseLong(line.substring(3));
+                } else if (line.startsWith("event:")) {
+                    type = line.substring(6);
+                } else if (line.startsWith("data:")) {
+                    int start = line.indexOf("\"id\":\"") + "\"id\":\"".length();
+                    id = line.substring(start, line.indexOf('"', start));
+                }
+            }
+            if ("product".equals(type)) {
+                events.add(new Event(sequence, id));
+            }
+        }
+        return events;
+    }
+
+    private record Event(long sequence, String id) {
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.springboot.services;
+
+import com.example.springboot.dtos.VendedorStatsDto;
+import com.example.springboot.repositories.ProductRepository;
+import com.example.springboot.repositories.VendedorRepository;
+import com.example.springboot.repositories.VendedorStatsRepository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Com a tabela materializada ligada, depois de cada tipo de escrita o resumo de TB_VENDEDOR_STATS
+// tem de ser igual ao agregado calculado sobre TB_PRODUCTS
+@SpringBootTest(properties = "loja.vendedores.stats.materialized=true")
+@AutoConfigureMockMvc
+class VendedorStatsServiceTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private VendedorRepository vendedorRepository;
+
+    @Autowired
+    private VendedorStatsRepository vendedorStatsRepository;
+
+    @Autowired
+    private VendedorStatsService vendedorStatsService;
+
+    private UUID ana;
+
+    private UUID bia;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        productRepository.deleteAll();
+        vendedorRepository.deleteAll();
+        vendedorStatsRepository.deleteAllInBatch();
+
+        ana = createVendedor("Ana");
+        bia = createVendedor("Bia");
+    }
+
+    @Test
+    void materializedStatsFollowEveryProductWrite() throws Exception {
+        // Vendedor recém-criado: linha zerada, média null
+        mockMvc.perform(get("/vendedores/{id}/stats", ana))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productCount").value(0))
+                .andExpect(jsonPath("$.totalValue").value(0))
+                .andExpect(jsonPath("$.averageValue").doesNotExist());
+
+        // Criação individual e em lote
+        UUID first = createProduct("Caneta", "10.00", ana);
+        mockMvc.perform(post("/products/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content(products(ana, "5.50", bia, "20.00", bia, "30.00")))
+                .andExpect(status().isOk());
+        assertStatsMatchAggregates();
+        assertThat(vendedorStatsService.findStats(bia).orElseThrow().productCount()).isEqualTo(2);
+
+        // Importação
+        mockMvc.perform(post("/products/import").contentType("text/csv")
+                        .content("name,value,vendedorId\nLápis,1.25," + ana + "\nBorracha,2.75," + bia + "\n"))
+                .andExpect(status().isOk());
+        assertStatsMatchAggregates();
+
+        // Atualização que troca o produto de vendedor e de valor
+        mockMvc.perform(put("/products/{id}", first).contentType(MediaType.APPLICATION_JSON)
+                        .content(product("Caneta", "12.00", bia)))
+                .andExpect(status().isOk());
+        assertStatsMatchAggregates();
+
+        // Atualização em lote de volta para o primeiro vendedor
+        mockMvc.perform(put("/products/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"idProduct\":\"" + first + "\",\"name\":\"Caneta\",\"value\":7.00,\"vendedorId\":\"" + ana + "\"}]"))
+                .andExpect(status().isOk());
+        assertStatsMatchAggregates();
+
+        // Remoção individual e em lote (com um ID inexistente, que não pode alterar o resumo)
+        mockMvc.perform(delete("/products/{id}", first)).andExpect(status().isNoContent());
+        assertStatsMatchAggregates();
+        List<UUID> biaProducts = productRepository.findAll().stream()
+                .filter(p -> p.getVendedor().getIdVendedor().equals(bia)).map(p -> p.getIdProduct()).toList();
+        mockMvc.perform(delete("/products/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(biaProducts.get(0), UUID.randomUUID()))))
+                .andExpect(status().isOk());
+        assertStatsMatchAggregates();
+
+        // Remoção do vendedor com os produtos restantes: a linha de resumo some junto
+        mockMvc.perform(delete("/vendedores/{id}", bia)).andExpect(status().isNoContent());
+        assertStatsMatchAggregates();
+        mockMvc.perform(get("/vendedores/{id}/stats", bia)).andExpect(status().isNotFound());
+
+        // O recálculo completo chega ao mesmo resultado
+        List<VendedorStatsDto> beforeRebuild = vendedorStatsService.findPage(null, Limit.of(100));
+        vendedorStatsService.rebuild();
+        assertThat(vendedorStatsService.findPage(null, Limit.of(100))).isEqualTo(beforeRebuild);
+    }
+
+    @Test
+    void statsListingIsPaginatedByCursor() throws Exception {
+        createVendedor("Caio");
+
+        String body = mockMvc.perform(get("/vendedores/stats").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.vendedorStatsList.length()").value(2))
+                .andReturn().getResponse().getContentAsString();
+        String next = objectMapper.readTree(body).at("/_links/next/href").asText();
+        assertThat(next).contains("/vendedores/stats?after=");
+
+        mockMvc.perform(get(next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.vendedorStatsList.length()").value(1))
+                .andExpect(jsonPath("$._links.next").doesNotExist());
+    }
+
+    // Tabela materializada x GROUP BY sobre os produtos, para todos os vendedores
+    private void assertStatsMatchAggregates() {
+        assertThat(vendedorStatsRepository.findFirstPage(Limit.of(100)))
+                .isEqualTo(vendedorStatsRepository.aggregateFirstPage(Limit.of(100)));
+    }
+
+    private UUID createVendedor(String nome) throws Exception {
+        String body = mockMvc.perform(post("/vendedores").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"" + nome + "\",\"email\":\"" + nome.toLowerCase() + "@teste.com\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return UUID.fromString(objectMapper.readTree(body).get("idVendedor").asText());
+    }
+
+    private UUID createProduct(String name, String value, UUID vendedorId) throws Exception {
+        String body = mockMvc.perform(post("/products").contentType(MediaType.APPLICATION_JSON)
+                        .content(product(name, value, vendedorId)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode json = objectMapper.readTree(body);
+        return UUID.fromString(json.get("idProduct").asText());
+    }
+
+    private static String product(String name, String value, UUID vendedorId) {
+        return "{\"name\":\"" + name + "\",\"value\":" + new BigDecimal(value) + ",\"vendedorId\":\"" + vendedorId + "\"}";
+    }
+
+    // Pares (vendedor, valor) -> corpo de POST /products/batch
+    private static String products(Object... pairs) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < pairs.length; i += 2) {
+            json.append(i == 0 ? "" : ",").append(product("Item " + i, (String) pairs[i + 1], (UUID) pairs[i]));
+        }
+        return json.append(']').toString();
+    }
+}